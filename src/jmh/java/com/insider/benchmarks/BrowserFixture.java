@@ -0,0 +1,41 @@
+package com.insider.benchmarks;
+
+import com.insider.utils.DriverFactory;
+import com.insider.utils.ExtentReportManager;
+import org.openqa.selenium.WebDriver;
+
+// One headless browser on the fixture server per benchmark trial, with a report test open so page objects can be
+// created. Runs inside the JMH fork, so the settings below never leak into the regular test run.
+public class BrowserFixture {
+    private final FixtureServer server;
+    private final WebDriver driver;
+
+    public BrowserFixture(String path) {
+        configure();
+        server = new FixtureServer();
+        driver = DriverFactory.createDriver();
+        driver.get(server.url(path));
+        ExtentReportManager.startTest("Benchmark " + path);
+    }
+
+    // No network and nothing accumulating in memory: headless, offline driver lookup, no HTML report tree
+    static void configure() {
+        System.setProperty("browser.headless", "true");
+        System.setProperty("driver.offline", System.getProperty("driver.offline", "true"));
+        System.setProperty("report.dir", "target/jmh-report");
+        System.setProperty("report.html.enabled", "false");
+        System.setProperty("report.jsonl.enabled", "false");
+        System.setProperty("attachments.enabled", "false");
+        System.setProperty("metrics.enabled", "false");
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public void close() {
+        ExtentReportManager.endTest();
+        driver.quit();
+        server.stop();
+    }
+}
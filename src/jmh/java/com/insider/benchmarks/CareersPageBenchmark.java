@@ -0,0 +1,73 @@
+package com.insider.benchmarks;
+
+import com.insider.base.PageReadCache;
+import com.insider.pages.CareersPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+// Careers page checks against fixtures/careers/index.html. "Cold" variants drop the page read cache first,
+// which is what the first check after a navigation pays.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CareersPageBenchmark {
+    private BrowserFixture fixture;
+    private CareersPage careersPage;
+
+    @Setup
+    public void setUp() {
+        fixture = new BrowserFixture("/careers/");
+        careersPage = new CareersPage(fixture.getDriver());
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public boolean verifyMetaTags() {
+        return careersPage.verifyCareersPageMetaTags();
+    }
+
+    @Benchmark
+    public boolean verifyMetaTagsCold() {
+        PageReadCache.of(fixture.getDriver()).invalidate();
+        return careersPage.verifyCareersPageMetaTags();
+    }
+
+    @Benchmark
+    public boolean isLocationsBlockPresent() {
+        return careersPage.isLocationsBlockPresent();
+    }
+
+    @Benchmark
+    public boolean isLocationsBlockPresentCold() {
+        PageReadCache.of(fixture.getDriver()).invalidate();
+        return careersPage.isLocationsBlockPresent();
+    }
+
+    // Locator resolution: the location slides found through the same findElements call, by XPath and by the
+    // equivalent CSS selector (class tokens matched exactly in both)
+    @Benchmark
+    public void findByXpath(Blackhole blackhole) {
+        blackhole.consume(fixture.getDriver().findElements(By.xpath(
+                "//ul[contains(concat(' ', normalize-space(@class), ' '), ' glide__slides ')]"
+                        + "/li[contains(concat(' ', normalize-space(@class), ' '), ' glide__slide ')]")));
+    }
+
+    @Benchmark
+    public void findByCss(Blackhole blackhole) {
+        blackhole.consume(fixture.getDriver().findElements(By.cssSelector("ul.glide__slides > li.glide__slide")));
+    }
+}
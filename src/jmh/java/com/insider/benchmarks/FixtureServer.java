@@ -0,0 +1,76 @@
+package com.insider.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+// Serves the static page copies under src/jmh/resources/fixtures on a free localhost port.
+// "/careers/" maps to fixtures/careers/index.html, the way the live site serves its pages.
+public class FixtureServer {
+    private final HttpServer server;
+
+    public FixtureServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start fixture server", e);
+        }
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = readFixture(path.endsWith("/") ? path + "index.html" : path);
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                exchange.getResponseHeaders().set("Content-Type", contentType(path));
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    public String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    private static byte[] readFixture(String path) throws IOException {
+        try (InputStream in = FixtureServer.class.getResourceAsStream("/fixtures" + path)) {
+            if (in == null) {
+                return null;
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static String contentType(String path) {
+        if (path.endsWith(".png")) {
+            return "image/png";
+        }
+        if (path.endsWith(".css")) {
+            return "text/css";
+        }
+        if (path.endsWith(".js")) {
+            return "application/javascript";
+        }
+        return "text/html; charset=UTF-8";
+    }
+}
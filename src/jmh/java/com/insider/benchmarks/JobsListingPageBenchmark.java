@@ -0,0 +1,48 @@
+package com.insider.benchmarks;
+
+import com.insider.pages.JobsListingPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+// Job list checks against fixtures/careers/open-positions/index.html (24 QA rows in Istanbul)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JobsListingPageBenchmark {
+    private BrowserFixture fixture;
+    private JobsListingPage jobsListingPage;
+
+    @Setup
+    public void setUp() {
+        fixture = new BrowserFixture("/careers/open-positions/");
+        jobsListingPage = new JobsListingPage(fixture.getDriver());
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public boolean verifyJobsLocations() {
+        return jobsListingPage.verifyJobsLocations("Istanbul, Turkiye");
+    }
+
+    @Benchmark
+    public boolean verifyJobs() {
+        return jobsListingPage.verifyJobs("Quality Assurance", "Istanbul, Turkiye");
+    }
+
+    @Benchmark
+    public boolean verifyOpenPositionsElements() {
+        return jobsListingPage.verifyOpenPositionsElements();
+    }
+}
@@ -0,0 +1,53 @@
+package com.insider.benchmarks;
+
+import com.insider.utils.ExtentReportManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of a log call on the test thread at each verbosity; no browser involved
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReportLoggingBenchmark {
+    @Param({"DEBUG", "INFO", "CI"})
+    public String verbosity;
+
+    private int counter;
+
+    @Setup
+    public void setUp() {
+        BrowserFixture.configure();
+        System.setProperty("report.verbosity", verbosity);
+        ExtentReportManager.startTest("Report logging benchmark");
+    }
+
+    @TearDown
+    public void tearDown() {
+        ExtentReportManager.endTest();
+        ExtentReportManager.endSuite();
+    }
+
+    @Benchmark
+    public void logInfo() {
+        ExtentReportManager.logInfo("Job items count expected: 3, actual: " + counter++);
+    }
+
+    @Benchmark
+    public void logDebugLazy() {
+        ExtentReportManager.logDebug(() -> "Scrolled to element " + counter++, 1);
+    }
+
+    @Benchmark
+    public void logPass() {
+        ExtentReportManager.logPass("Clicked on 'See all teams' button.");
+    }
+}
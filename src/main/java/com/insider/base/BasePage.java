@@ -1,26 +1,146 @@
 package com.insider.base;
 
 import com.aventstack.extentreports.ExtentTest;
+import com.insider.utils.CircuitBreaker;
+import com.insider.utils.ConfigReader;
 import com.insider.utils.ExtentReportManager;
+import com.insider.utils.PageLoadTimings;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public abstract class BasePage {
+    // How long a generic click may take to start a navigation before it is taken to have stayed on the page
+    private static final Duration CLICK_NAVIGATION_WINDOW = Duration.ofSeconds(2);
+    // Elements without a layout box (e.g. display: none) count as reached, there is nothing to bring into view
+    private static final String IN_VIEWPORT_SCRIPT =
+            "var r = arguments[0].getBoundingClientRect();" +
+            "if (r.width === 0 && r.height === 0) { return true; }" +
+            "return r.bottom > 0 && r.right > 0 && r.top < window.innerHeight && r.left < window.innerWidth;";
+
+    // Tracks page activity in window.__insiderActivity, installed once per document: pending fetch/XHR requests (by
+    // patching fetch and XMLHttpRequest.send) and when the DOM last changed. Scripts that trigger requests run it
+    // first, so a later settle wait sees requests started before it was called.
+    private static final String ACTIVITY_TRACKER =
+            "var activity = window.__insiderActivity;" +
+            "if (!activity) {" +
+            "  activity = window.__insiderActivity = {pending: 0, last: 0, mutated: Date.now()};" +
+            "  var started = function () { activity.pending++; activity.last = Date.now(); };" +
+            "  var ended = function () { activity.pending = Math.max(activity.pending - 1, 0); activity.last = Date.now(); };" +
+            "  if (window.fetch) {" +
+            "    var fetch = window.fetch;" +
+            "    window.fetch = function () {" +
+            "      started();" +
+            "      return fetch.apply(this, arguments).then(function (r) { ended(); return r; }, function (e) { ended(); throw e; });" +
+            "    };" +
+            "  }" +
+            "  var send = XMLHttpRequest.prototype.send;" +
+            "  XMLHttpRequest.prototype.send = function () {" +
+            "    started();" +
+            "    this.addEventListener('loadend', ended);" +
+            "    return send.apply(this, arguments);" +
+            "  };" +
+            "  new MutationObserver(function () { activity.mutated = Date.now(); }).observe(document.documentElement," +
+            "      {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "}";
+
+    // Resolves (via the async callback) once the container's subtree has seen no mutation, and the page no pending
+    // fetch/XHR/jQuery request, for the quiet window. Mutations re-arm the quiet timer, so there is no polling while
+    // the DOM is changing; a missing container is picked up when it is inserted. Gives up with settled: false at the
+    // timeout. A page that has already been quiet for the window (no DOM change anywhere, no request) since the
+    // tracker went in resolves at once, e.g. a tab that finished refreshing while other tabs were being driven.
+    private static final String SETTLE_SCRIPT =
+            ScriptLocators.FIND_FUNCTION +
+            "var locator = arguments[0], quiet = arguments[1], timeout = arguments[2];" +
+            "var done = arguments[arguments.length - 1];" +
+            ACTIVITY_TRACKER +
+            "var pending = function () { return activity.pending + (window.jQuery && jQuery.active ? jQuery.active : 0); };" +
+            "var options = {childList: true, subtree: true, attributes: true, characterData: true};" +
+            "var start = Date.now(), lastChange = start, mutations = 0, timer = null;" +
+            "var root = __find(document, locator, false);" +
+            "var observer = new MutationObserver(function (records) {" +
+            "  mutations += records.length;" +
+            "  lastChange = Date.now();" +
+            "  arm(quiet);" +
+            "});" +
+            "observer.observe(root || document.documentElement, options);" +
+            "function arm(delay) { clearTimeout(timer); timer = setTimeout(check, delay); }" +
+            "function finish(settled) {" +
+            "  observer.disconnect();" +
+            "  clearTimeout(timer);" +
+            "  clearTimeout(deadline);" +
+            "  done({settled: settled, found: root !== null, mutations: mutations, pending: pending(), elapsed: Date.now() - start});" +
+            "}" +
+            "function check() {" +
+            "  if (root === null) {" +
+            "    root = __find(document, locator, false);" +
+            "    if (root === null) { arm(quiet); return; }" +
+            "    observer.disconnect();" +
+            "    observer.observe(root, options);" +
+            "    lastChange = Date.now();" +
+            "  }" +
+            "  if (pending() > 0) { arm(50); return; }" +
+            "  var idle = Date.now() - Math.max(lastChange, activity.last);" +
+            "  if (idle >= quiet) { finish(true); } else { arm(quiet - idle); }" +
+            "}" +
+            "var deadline = setTimeout(function () { finish(false); }, timeout);" +
+            "if (root !== null && pending() === 0 && start - Math.max(activity.mutated, activity.last) >= quiet) {" +
+            "  finish(true);" +
+            "} else {" +
+            "  arm(quiet);" +
+            "}";
+
+    // select2 mirrors a hidden <select>: pick the option there and fire the change event select2 and the page listen
+    // to (through jQuery when present, as select2 itself does). Returns null until the options have been loaded.
+    // A null option text only reads the options. The activity tracker goes in before the change event, so the list
+    // refresh it starts is seen by waitForDomToSettle.
+    private static final String SELECT2_SCRIPT =
+            ScriptLocators.FIND_FUNCTION + ACTIVITY_TRACKER +
+            "var select = __find(document, arguments[0], false);" +
+            "if (select === null || select.options.length <= 1) { return null; }" +
+            "var wanted = arguments[1] === null ? null : arguments[1].trim().toLowerCase();" +
+            "var options = [], match = null;" +
+            "for (var i = 0; i < select.options.length; i++) {" +
+            "  var text = (select.options[i].textContent || '').replace(/\\s+/g, ' ').trim();" +
+            "  options.push(text);" +
+            "  if (match === null && text.toLowerCase() === wanted) { match = select.options[i]; }" +
+            "}" +
+            "var changed = match !== null && !match.selected;" +
+            "if (changed) {" +
+            "  if (window.jQuery) {" +
+            "    jQuery(select).val(match.value).trigger('change');" +
+            "  } else {" +
+            "    select.value = match.value;" +
+            "    select.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "  }" +
+            "}" +
+            "return {options: options, selected: match === null ? null : options[match.index], changed: changed};";
+
+    // The cookie banner is site-wide, it can show up on whichever page a test starts from
+    private By cookieBannerTitle = By.id("wt-cli-cookie-banner-title");
+    private By acceptAllButton = By.id("wt-cli-accept-all-btn");
+
     protected WebDriver driver;
     protected WebDriverWait wait;
     protected ExtentTest testLogger;
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10)); // Standardized wait time
+        this.wait = new FailFastWait(driver, Duration.ofSeconds(10)); // Standardized wait time
         this.testLogger = ExtentReportManager.getTest();
 
-        if (this.testLogger == null) {
-            throw new IllegalStateException("ExtentTest is null. Ensure startTest() is called before creating pages.");
+        if (!ExtentReportManager.isTestStarted()) {
+            throw new IllegalStateException("No test started. Ensure startTest() is called before creating pages.");
         }
         PageFactory.initElements(driver, this);
     }
@@ -28,10 +148,10 @@ public abstract class BasePage {
     // COMMONS
     public boolean verifyMetaTags(String expectedTitle, String expectedDescription, String expectedUrl, String expectedSiteName) {
         try {
-            String actualTitle = driver.findElement(By.xpath("//meta[@property='og:title']")).getAttribute("content");
-            String actualDescription = driver.findElement(By.xpath("//meta[@property='og:description']")).getAttribute("content");
-            String actualUrl = driver.findElement(By.xpath("//meta[@property='og:url']")).getAttribute("content");
-            String actualSiteName = driver.findElement(By.xpath("//meta[@property='og:site_name']")).getAttribute("content");
+            String actualTitle = readAttribute(By.xpath("//meta[@property='og:title']"), "content");
+            String actualDescription = readAttribute(By.xpath("//meta[@property='og:description']"), "content");
+            String actualUrl = readAttribute(By.xpath("//meta[@property='og:url']"), "content");
+            String actualSiteName = readAttribute(By.xpath("//meta[@property='og:site_name']"), "content");
 
             ExtentReportManager.logInfo("OG Title expected: '" + expectedTitle + "', actual: '" + actualTitle + "'");
             ExtentReportManager.logInfo("OG Description expected: '" + expectedDescription + "', actual: '" + actualDescription + "'");
@@ -46,42 +166,219 @@ public abstract class BasePage {
             ExtentReportManager.logInfo(result ? "Meta tag verification passed!" : "Meta tag verification failed!");
             return result;
         } catch (Exception e) {
-            ExtentReportManager.logFail("Meta tag verification failed due to an exception: " + e.getMessage());
+            ExtentReportManager.logFail("Meta tag verification failed due to an exception: " + e.getMessage(), e);
             return false;
         }
     }
 
+    // Reads every row matched by rowLocator in a single script call; missing fields come back as null
+    @SuppressWarnings("unchecked")
+    protected List<Map<String, String>> extractRows(By rowLocator, RowField... fields) {
+        Object rows = ((JavascriptExecutor) driver).executeScript(
+                ScriptLocators.FIND_FUNCTION + ScriptLocators.ROW_FUNCTION +
+                "var fields = arguments[1];" +
+                "return __find(document, arguments[0], true).map(function (row) { return __row(row, fields); });",
+                ScriptLocators.toScriptArgument(rowLocator), RowField.toScriptArguments(fields));
+        return rows == null ? new ArrayList<>() : (List<Map<String, String>>) rows;
+    }
+
+    // Lazily streams the rows under container, rows.batch.size per script call. The rows are looked up once; only the
+    // current batch is held, so a short-circuiting terminal operation stops fetching at the first match.
+    protected Stream<Map<String, String>> streamRows(By container, By rowLocator, RowField... fields) {
+        return streamRows(container, rowLocator, null, fields);
+    }
+
+    // Same for lists that load more rows on demand: when the rows run out, loadMore (an infinite-scroll sentinel or
+    // a "load more" / "next page" control) is scrolled to or clicked and reading continues once the container settles
+    protected Stream<Map<String, String>> streamRows(By container, By rowLocator, By loadMore, RowField... fields) {
+        RowIterator rows = new RowIterator(this, driver, container, rowLocator, loadMore,
+                RowField.toScriptArguments(fields), ConfigReader.getIntProperty("rows.batch.size", 20));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // Reads all options of a select2-backed <select> and selects optionText (case-insensitive) in one script call,
+    // without opening the widget. Waits for the options to be loaded; the caller waits for whatever the change updates.
+    @SuppressWarnings("unchecked")
+    protected Select2Selection selectSelect2Option(By select, String optionText) {
+        Map<String, Object> argument = ScriptLocators.toScriptArgument(select);
+        Map<String, Object> result = wait.until(d -> (Map<String, Object>) ((JavascriptExecutor) d).executeScript(
+                SELECT2_SCRIPT, argument, optionText));
+        invalidateReadCache();
+        return new Select2Selection((List<String>) result.get("options"), (String) result.get("selected"),
+                Boolean.TRUE.equals(result.get("changed")));
+    }
+
+    protected List<String> readSelect2Options(By select) {
+        return selectSelect2Option(select, null).getOptions();
+    }
+
+    // Evaluates the whole manifest in one script call per poll until every entry passes or the wait times out.
+    // Elements that exist but are not visible yet are scrolled into view so lazily revealed blocks can appear.
+    @SuppressWarnings("unchecked")
+    protected boolean verifyManifest(PageManifest manifest) {
+        List<PageManifest.Entry> entries = manifest.getEntries();
+        List<Map<String, Object>> arguments = manifest.toScriptArgument();
+        List<ManifestResult> results = new ArrayList<>();
+
+        try {
+            wait.until(d -> {
+                List<Map<String, Object>> states = (List<Map<String, Object>>) ((JavascriptExecutor) d).executeScript(
+                        ScriptLocators.FIND_FUNCTION + ScriptLocators.VISIBLE_FUNCTION +
+                        "var hidden = null;" +
+                        "var states = arguments[0].map(function (entry) {" +
+                        "  var el = __find(document, entry.locator, false);" +
+                        "  if (el === null) { return {present: false, visible: false, text: null}; }" +
+                        "  var visible = __visible(el);" +
+                        "  if (!visible && hidden === null) { hidden = el; }" +
+                        "  return {present: true, visible: visible, text: __text(el)};" +
+                        "});" +
+                        "if (hidden !== null) { hidden.scrollIntoView({block: 'center', behavior: 'instant'}); }" +
+                        "return states;",
+                        arguments);
+                results.clear();
+                for (int i = 0; i < entries.size(); i++) {
+                    Map<String, Object> state = states.get(i);
+                    PageManifest.Entry entry = entries.get(i);
+                    results.add(new ManifestResult(entry.label, Boolean.TRUE.equals(state.get("present")),
+                            Boolean.TRUE.equals(state.get("visible")), (String) state.get("text"), entry.expectedText));
+                }
+                return results.stream().allMatch(ManifestResult::isPassed);
+            });
+        } catch (TimeoutException e) {
+            // Fall through and report the last evaluated state, it shows exactly which element failed
+        } catch (Exception e) {
+            ExtentReportManager.logFail("Error while checking " + manifest.getName() + ": " + e.getMessage(), e);
+            return false;
+        }
+
+        recheckReadCache(); // Hidden entries were scrolled into view
+        boolean result = !results.isEmpty() && results.stream().allMatch(ManifestResult::isPassed);
+        for (ManifestResult entryResult : results) {
+            if (entryResult.isPassed()) {
+                ExtentReportManager.logInfo(entryResult.toString());
+            } else {
+                ExtentReportManager.logFail(entryResult.toString());
+            }
+        }
+        ExtentReportManager.logInfo(manifest.getName() + " verification result: " + result);
+        return result;
+    }
+
+    // Read-only attribute lookup: answered from the navigation's DOM snapshot unless dom.snapshot.enabled is false,
+    // in which case the live value is cached for the current page state
+    protected String readAttribute(By locator, String attribute) {
+        if (ConfigReader.getBooleanProperty("dom.snapshot.enabled", true)) {
+            return DomSnapshot.of(driver).getAttribute(locator, attribute);
+        }
+        return PageReadCache.of(driver).get(driver, "attribute|" + locator + "|" + attribute,
+                () -> driver.findElement(locator).getAttribute(attribute));
+    }
+
+    protected int countElements(By locator) {
+        return PageReadCache.of(driver).read(driver, "count|" + locator, count -> ((Number) count).intValue(),
+                ScriptLocators.FIND_FUNCTION + "return __find(document, arguments[0], true).length;",
+                ScriptLocators.toScriptArgument(locator));
+    }
+
+    // Called after every click, the page state may change in ways the mutation counter does not see
+    protected void invalidateReadCache() {
+        PageReadCache.of(driver).invalidate();
+    }
+
+    // Called after scrolling and waits: lazily loaded content may have arrived, the next read checks the page state
+    protected void recheckReadCache() {
+        PageReadCache.of(driver).recheck();
+    }
+
+    public void waitForDomToSettle(By container) {
+        waitForDomToSettle(container, Duration.ofMillis(ConfigReader.getIntProperty("dom.settle.quiet.millis", 300)));
+    }
+
+    // Blocks until the container exists and its subtree and the page's network requests have been quiet for the
+    // given window; a single async script call instead of sleeps or polling waits. Times out like the page waits.
+    @SuppressWarnings("unchecked")
+    public void waitForDomToSettle(By container, Duration quietWindow) {
+        if (CircuitBreaker.isOpen()) {
+            throw new TimeoutException("Wait abandoned, circuit breaker is open: " + CircuitBreaker.getCause());
+        }
+        long timeout = Math.min(ConfigReader.getIntProperty("dom.settle.timeout.seconds", 10) * 1000L,
+                Math.max(driver.manage().timeouts().getScriptTimeout().toMillis() - 500, 0));
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(SETTLE_SCRIPT,
+                ScriptLocators.toScriptArgument(container), quietWindow.toMillis(), timeout);
+        invalidateReadCache();
+        if (!Boolean.TRUE.equals(result.get("settled"))) {
+            throw new TimeoutException(Boolean.TRUE.equals(result.get("found"))
+                    ? "DOM under " + container + " did not settle within " + timeout + " ms (" + result.get("mutations")
+                            + " mutations, " + result.get("pending") + " pending requests)"
+                    : "Container did not appear within " + timeout + " ms: " + container);
+        }
+        ExtentReportManager.logDebug(() -> "DOM under " + container + " settled after " + result.get("elapsed") + " ms, "
+                + result.get("mutations") + " mutations.", 0);
+    }
+
+    public void handleCookieBanner() {
+        try {
+            if (!driver.findElements(cookieBannerTitle).isEmpty()) {
+                WebElement acceptButton = wait.until(ExpectedConditions.elementToBeClickable(acceptAllButton));
+                acceptButton.click();
+                invalidateReadCache();
+                ExtentReportManager.logPass("Cookie banner handled: Accepted all cookies.");
+            }
+        } catch (Exception e) {
+            ExtentReportManager.logInfo("No cookie banner displayed.");
+        }
+    }
+
+    // From the DOM snapshot like the other read-only checks, unless dom.snapshot.enabled is false
     public String getPageTitle() {
-        String title = driver.getTitle();
-        testLogger.info("Page title retrieved: " + title);
+        String title = ConfigReader.getBooleanProperty("dom.snapshot.enabled", true)
+                ? DomSnapshot.of(driver).getTitle() : driver.getTitle();
+        ExtentReportManager.logInfo("Page title retrieved: " + title);
         return title;
     }
 
     public void scrollToElement(WebElement element) {
         try {
             JavascriptExecutor js = (JavascriptExecutor) driver;
-            js.executeScript("arguments[0].scrollIntoView({block: 'center', behavior: 'smooth'});", element);
-            Thread.sleep(1000); // Small wait to visually confirm scrolling
-            ExtentReportManager.logInfo("Scrolled to element: " + element.getText());
+            if (isVisualScrollMode()) {
+                js.executeScript("arguments[0].scrollIntoView({block: 'center', behavior: 'smooth'});", element);
+                Thread.sleep(1000); // Small wait to visually confirm scrolling
+            } else {
+                // Jump straight to the element and only wait if it is not in the viewport right away
+                Boolean inViewport = (Boolean) js.executeScript(
+                        "arguments[0].scrollIntoView({block: 'center', behavior: 'instant'});" + IN_VIEWPORT_SCRIPT, element);
+                if (!Boolean.TRUE.equals(inViewport)) {
+                    wait.until(d -> (Boolean) ((JavascriptExecutor) d).executeScript(IN_VIEWPORT_SCRIPT, element));
+                }
+            }
+            recheckReadCache();
+            ExtentReportManager.logDebug(() -> "Scrolled to element: " + element.getText(), 1);
         } catch (Exception e) {
-            ExtentReportManager.logFail("Failed to scroll to element: " + e.getMessage());
+            ExtentReportManager.logFail("Failed to scroll to element: " + e.getMessage(), e);
         }
     }
 
+    // "visual" keeps the smooth, slowed-down scrolling for demo and debug runs; "fast" (default) scrolls instantly
+    protected boolean isVisualScrollMode() {
+        return ConfigReader.getProperty("scroll.mode", "fast").equalsIgnoreCase("visual");
+    }
+
     public WebElement waitForElementToBeClickable(WebElement element) {
         try {
+            recheckReadCache();
             return wait.until(ExpectedConditions.elementToBeClickable(element));
         } catch (TimeoutException e) {
-            testLogger.fail("Timeout waiting for element to be clickable: " + element);
+            ExtentReportManager.logFail("Timeout waiting for element to be clickable: " + element, e);
             throw e;
         }
     }
 
     public WebElement waitForElementToBeVisible(By locator) {
         try {
+            recheckReadCache();
             return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
         } catch (TimeoutException e) {
-            testLogger.fail("Timeout waiting for element to be visible: " + locator);
+            ExtentReportManager.logFail("Timeout waiting for element to be visible: " + locator, e);
             throw e;
         }
     }
@@ -90,18 +387,56 @@ public abstract class BasePage {
         try {
             Actions actions = new Actions(driver);
             actions.moveToElement(element).perform();
-            testLogger.info("Hovered over element: " + element.getText());
+            recheckReadCache();
+            ExtentReportManager.logDebug(() -> "Hovered over element: " + element.getText(), 1);
         } catch (Exception e) {
-            testLogger.fail("Failed to hover over element: " + e.getMessage());
+            ExtentReportManager.logFail("Failed to hover over element: " + e.getMessage(), e);
+        }
+    }
+
+    // Load timings (PageLoadTimings) are sampled around navigations: the page being left right before the click
+    // that leaves it, and the page it leads to once the URL has changed. Samples of one document replace each other,
+    // so the last one, closest to the final state, is kept. Returns the URL being left, null when timings are off.
+    protected String beforeNavigation() {
+        if (!PageLoadTimings.isEnabled()) {
+            return null;
+        }
+        PageLoadTimings.record(driver);
+        return driver.getCurrentUrl();
+    }
+
+    protected void afterNavigation(String previousUrl) {
+        afterNavigation(previousUrl, wait);
+    }
+
+    private void afterNavigation(String previousUrl, WebDriverWait navigationWait) {
+        if (previousUrl == null) {
+            return;
+        }
+        try {
+            navigationWait.until(d -> !previousUrl.equals(d.getCurrentUrl()));
+        } catch (TimeoutException e) {
+            return; // The click did not navigate, the caller reports that
+        }
+        PageLoadTimings.record(driver);
+    }
+
+    // Samples the current page without a navigation, e.g. a page in another tab before that tab is closed
+    protected void recordPageTimings() {
+        if (PageLoadTimings.isEnabled()) {
+            PageLoadTimings.record(driver);
         }
     }
 
     public void clickElement(WebElement element) {
         try {
+            String leaving = beforeNavigation(); // Any click may leave the page
             waitForElementToBeClickable(element).click();
-            testLogger.info("Clicked on element: " + element.getText());
+            invalidateReadCache();
+            afterNavigation(leaving, new WebDriverWait(driver, CLICK_NAVIGATION_WINDOW));
+            ExtentReportManager.logDebug(() -> "Clicked on element: " + element.getText(), 1);
         } catch (Exception e) {
-            testLogger.fail("Failed to click element: " + e.getMessage());
+            ExtentReportManager.logFail("Failed to click element: " + e.getMessage(), e);
         }
     }
 }
\ No newline at end of file
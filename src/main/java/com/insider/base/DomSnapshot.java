@@ -0,0 +1,84 @@
+package com.insider.base;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+
+// Parsed copy of the page markup, captured once per page state. Read-only checks (meta tags, logo attributes...)
+// are answered from this tree in-process, with no further browser traffic.
+public final class DomSnapshot {
+    // Same serialization as driver.getPageSource(), fetched together with the URL in one call
+    private static final String CAPTURE_SCRIPT = "return [window.location.href, document.documentElement.outerHTML];";
+
+    private final String url;
+    private final Document document;
+
+    private DomSnapshot(String url, String html) {
+        this.url = url;
+        this.document = Jsoup.parse(html, url);
+    }
+
+    // Reuses the snapshot while the page state is unchanged (see PageReadCache), otherwise captures a new one
+    public static DomSnapshot of(WebDriver driver) {
+        return PageReadCache.of(driver).read(driver, "dom-snapshot", DomSnapshot::fromScriptResult, CAPTURE_SCRIPT);
+    }
+
+    public static DomSnapshot capture(WebDriver driver) {
+        return fromScriptResult(((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DomSnapshot fromScriptResult(Object result) {
+        List<String> page = (List<String>) result;
+        return new DomSnapshot(page.get(0), page.get(1));
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getTitle() {
+        return document.title();
+    }
+
+    // Mirrors WebElement.getAttribute: URL attributes come back absolute, missing attributes as null
+    public String getAttribute(By locator, String attribute) {
+        Elements found = select(locator);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("No element in DOM snapshot of " + url + " for " + locator);
+        }
+        Element element = found.first();
+        if (!element.hasAttr(attribute)) {
+            return null;
+        }
+        if (attribute.equals("src") || attribute.equals("href")) {
+            return element.absUrl(attribute);
+        }
+        return element.attr(attribute);
+    }
+
+    private Elements select(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Locator cannot be evaluated on a DOM snapshot: " + locator);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        switch (parameters.using()) {
+            case "css selector":
+                return document.select(value);
+            case "xpath":
+                return document.selectXpath(value);
+            case "tag name":
+                return document.getElementsByTag(value);
+            default:
+                throw new IllegalArgumentException("Locator strategy not supported on a DOM snapshot: " + locator);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.insider.base;
+
+import com.insider.utils.CircuitBreaker;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// WebDriverWait that gives up as soon as the circuit breaker is open, checked before the wait and on every poll,
+// so tests already running when the site goes away stop within one polling interval instead of the full timeout
+public class FailFastWait extends WebDriverWait {
+
+    public FailFastWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        return super.until(driver -> {
+            if (CircuitBreaker.isOpen()) {
+                throw new TimeoutException("Wait abandoned, circuit breaker is open: " + CircuitBreaker.getCause());
+            }
+            return isTrue.apply(driver);
+        });
+    }
+}
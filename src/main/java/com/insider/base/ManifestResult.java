@@ -0,0 +1,54 @@
+package com.insider.base;
+
+// Outcome of one PageManifest entry: whether the element exists, is visible and carries the expected text
+public final class ManifestResult {
+    private final String label;
+    private final boolean present;
+    private final boolean visible;
+    private final String text;
+    private final String expectedText;
+
+    ManifestResult(String label, boolean present, boolean visible, String text, String expectedText) {
+        this.label = label;
+        this.present = present;
+        this.visible = visible;
+        this.text = text;
+        this.expectedText = expectedText;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isPresent() {
+        return present;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isTextMatching() {
+        return expectedText == null || (text != null && text.contains(expectedText));
+    }
+
+    public boolean isPassed() {
+        return present && visible && isTextMatching();
+    }
+
+    @Override
+    public String toString() {
+        if (!present) {
+            return label + ": not found";
+        }
+        StringBuilder description = new StringBuilder(label + ": visible=" + visible);
+        if (expectedText != null) {
+            description.append(", expected text: '").append(expectedText).append("', actual: '").append(text).append("'");
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package com.insider.base;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The blocks a page must show, declared once per page object and checked by BasePage.verifyManifest in a single
+// in-browser call instead of a findElement / scroll / wait / isDisplayed round trip per element
+public final class PageManifest {
+    private final String name;
+    private final List<Entry> entries = new ArrayList<>();
+
+    public PageManifest(String name) {
+        this.name = name;
+    }
+
+    public PageManifest require(String label, By locator) {
+        return require(label, locator, null);
+    }
+
+    // The element must be visible and its text must contain expectedText
+    public PageManifest require(String label, By locator, String expectedText) {
+        entries.add(new Entry(label, locator, expectedText));
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    List<Map<String, Object>> toScriptArgument() {
+        List<Map<String, Object>> argument = new ArrayList<>();
+        for (Entry entry : entries) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("locator", ScriptLocators.toScriptArgument(entry.locator));
+            item.put("expectedText", entry.expectedText);
+            argument.add(item);
+        }
+        return argument;
+    }
+
+    static final class Entry {
+        final String label;
+        final By locator;
+        final String expectedText;
+
+        private Entry(String label, By locator, String expectedText) {
+            this.label = label;
+            this.locator = locator;
+            this.expectedText = expectedText;
+        }
+    }
+}
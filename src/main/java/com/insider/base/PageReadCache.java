@@ -0,0 +1,125 @@
+package com.insider.base;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Values read from the page (attributes, element counts, DOM snapshots) cached for one page state; a hit costs no
+// browser round trip. invalidate() (clicks, navigation, settle waits, filter changes) drops every value. recheck()
+// (scrolling, element waits: the page may have loaded more content meanwhile) keeps them, but the next read first
+// validates the page-state token: the URL, an id unique to the loaded document and a count of DOM nodes added or
+// removed (childList only; attribute changes come from interactions, which invalidate). A changed token drops all
+// values. Reads done by a script carry that check in the same call, so a miss is one round trip as well.
+// The cache holds no reference to its driver (the driver is passed in), so the weak map entry goes with the driver.
+public final class PageReadCache {
+    private static final Map<WebDriver, PageReadCache> caches = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicLong totalHits = new AtomicLong();
+    private static final AtomicLong totalMisses = new AtomicLong();
+    // Hits and misses of the test running on this thread, see takeTestCounts()
+    private static final ThreadLocal<long[]> testCounts = ThreadLocal.withInitial(() -> new long[2]);
+
+    private static final String STATE_FUNCTION =
+            "function __state() {" +
+            "  var tracker = window.__insiderMutations;" +
+            "  if (!tracker) {" +
+            "    tracker = window.__insiderMutations = {id: Date.now() + '-' + Math.random(), count: 0};" +
+            "    new MutationObserver(function (records) { tracker.count += records.length; })" +
+            "        .observe(document.documentElement, {childList: true, subtree: true});" +
+            "  }" +
+            "  return [window.location.href, tracker.id, String(tracker.count)];" +
+            "}";
+
+    private final Map<String, Object> values = new HashMap<>();
+    private List<?> stateToken;
+    // False until the token has been checked since the last recheck()
+    private boolean verified;
+
+    private PageReadCache() {
+    }
+
+    public static PageReadCache of(WebDriver driver) {
+        synchronized (caches) {
+            return caches.computeIfAbsent(driver, d -> new PageReadCache());
+        }
+    }
+
+    // For values read through WebDriver calls; an unverified cache spends one script call on the token first
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T get(WebDriver driver, String key, Supplier<T> loader) {
+        if (!verified) {
+            validate((List<?>) ((JavascriptExecutor) driver).executeScript(STATE_FUNCTION + "return __state();"));
+        }
+        if (values.containsKey(key)) {
+            count(true);
+            return (T) values.get(key);
+        }
+        count(false);
+        T value = loader.get();
+        values.put(key, value);
+        return value;
+    }
+
+    // For values a script can read: script is a function body (arguments as given) whose result goes through mapper.
+    // On a miss the token check and the read are one call.
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T read(WebDriver driver, String key, Function<Object, T> mapper, String script,
+                                   Object... arguments) {
+        if (verified && values.containsKey(key)) {
+            count(true);
+            return (T) values.get(key);
+        }
+        count(false);
+        List<?> result = (List<?>) ((JavascriptExecutor) driver).executeScript(STATE_FUNCTION +
+                "return [__state(), (function () {" + script + "}).apply(this, arguments)];", arguments);
+        validate((List<?>) result.get(0));
+        T value = mapper.apply(result.get(1));
+        values.put(key, value);
+        return value;
+    }
+
+    private void validate(List<?> token) {
+        if (!token.equals(stateToken)) {
+            values.clear();
+            stateToken = token;
+        }
+        verified = true;
+    }
+
+    public synchronized void invalidate() {
+        values.clear();
+        stateToken = null;
+        verified = false;
+    }
+
+    public synchronized void recheck() {
+        verified = false;
+    }
+
+    private static void count(boolean hit) {
+        (hit ? totalHits : totalMisses).incrementAndGet();
+        testCounts.get()[hit ? 0 : 1]++;
+    }
+
+    public static long getTotalHits() {
+        return totalHits.get();
+    }
+
+    public static long getTotalMisses() {
+        return totalMisses.get();
+    }
+
+    // {hits, misses} since the last call on this thread, i.e. of the current test
+    public static long[] takeTestCounts() {
+        long[] counts = testCounts.get();
+        testCounts.remove();
+        return counts;
+    }
+}
@@ -0,0 +1,49 @@
+package com.insider.base;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One column of a bulk row extraction: the visible text or an attribute of an element found inside each row
+public final class RowField {
+    private final String name;
+    private final By locator;
+    private final String attribute;
+
+    private RowField(String name, By locator, String attribute) {
+        this.name = name;
+        this.locator = locator;
+        this.attribute = attribute;
+    }
+
+    public static RowField text(String name, By locator) {
+        return new RowField(name, locator, null);
+    }
+
+    public static RowField attribute(String name, By locator, String attribute) {
+        return new RowField(name, locator, attribute);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    static List<Map<String, Object>> toScriptArguments(RowField... fields) {
+        List<Map<String, Object>> arguments = new ArrayList<>();
+        for (RowField field : fields) {
+            arguments.add(field.toScriptArgument());
+        }
+        return arguments;
+    }
+
+    Map<String, Object> toScriptArgument() {
+        Map<String, Object> argument = new HashMap<>();
+        argument.put("name", name);
+        argument.put("locator", ScriptLocators.toScriptArgument(locator));
+        argument.put("attribute", attribute);
+        return argument;
+    }
+}
@@ -0,0 +1,111 @@
+package com.insider.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+// Batched, forward-only reader behind BasePage.streamRows. The rows are looked up once and kept in the page under
+// this iterator's id, each fetch slices the next batchSize of them. Without a load-more locator the stream ends with
+// the last row. With one, running out of rows brings the control into view (a sentinel for infinite scroll) or clicks
+// it (a "load more" or "next page" button, unless disabled), waits for the container to settle and looks the rows up
+// again: appended rows continue the stream, a replaced page is read from its first row.
+final class RowIterator implements Iterator<Map<String, String>> {
+    // Upper bound on load-more rounds, in case a control never runs out
+    private static final int MAX_LOAD_MORE = 100;
+    private static final String BATCH_SCRIPT =
+            ScriptLocators.FIND_FUNCTION + ScriptLocators.ROW_FUNCTION +
+            "var fields = arguments[1], from = arguments[2], count = arguments[3], id = arguments[4];" +
+            "var refresh = arguments[5], release = arguments[6];" +
+            "var cache = window.__insiderRows || (window.__insiderRows = {});" +
+            "var entry = cache[id], restarted = false;" +
+            "if (!entry || refresh) {" +
+            "  restarted = !!entry && entry.rows.length > 0 && !entry.rows[0].isConnected;" +
+            "  entry = cache[id] = {rows: __find(document, arguments[0], true)};" +
+            "}" +
+            "if (restarted) { from = 0; }" +
+            "var rows = entry.rows.slice(from, from + count).map(function (row) { return __row(row, fields); });" +
+            "if (!rows.length && release) { delete cache[id]; }" +
+            "return {rows: rows, restarted: restarted};";
+    private static final String LOAD_MORE_SCRIPT =
+            ScriptLocators.FIND_FUNCTION + ScriptLocators.VISIBLE_FUNCTION +
+            "var control = __find(document, arguments[0], false);" +
+            "if (control === null) { return false; }" +
+            "var tag = control.tagName.toLowerCase();" +
+            "if (tag !== 'button' && tag !== 'a' && tag !== 'input' && control.getAttribute('role') !== 'button') {" +
+            "  control.scrollIntoView({block: 'end', behavior: 'instant'});" +
+            "  return true;" +
+            "}" +
+            "if (control.disabled || control.getAttribute('aria-disabled') === 'true'" +
+            "    || /(^|\\s)disabled(\\s|$)/.test(control.className) || !__visible(control)) { return false; }" +
+            "control.scrollIntoView({block: 'center', behavior: 'instant'});" +
+            "control.click();" +
+            "return true;";
+
+    private final BasePage page;
+    private final WebDriver driver;
+    private final By container;
+    private final Map<String, Object> rowLocator;
+    private final Map<String, Object> loadMore;
+    private final List<Map<String, Object>> fields;
+    private final int batchSize;
+    private final String id = UUID.randomUUID().toString();
+    private final Deque<Map<String, String>> batch = new ArrayDeque<>();
+    private int offset;
+    private int loadMoreRounds;
+    private boolean exhausted;
+
+    RowIterator(BasePage page, WebDriver driver, By container, By rowLocator, By loadMore,
+                List<Map<String, Object>> fields, int batchSize) {
+        this.page = page;
+        this.driver = driver;
+        this.container = container;
+        this.rowLocator = ScriptLocators.toScriptArgument(rowLocator);
+        this.loadMore = loadMore == null ? null : ScriptLocators.toScriptArgument(loadMore);
+        this.fields = fields;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (batch.isEmpty() && !exhausted && !fetch(false, loadMore == null)) {
+            if (loadMore == null || loadMoreRounds++ >= MAX_LOAD_MORE
+                    || !Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(LOAD_MORE_SCRIPT, loadMore))) {
+                exhausted = true;
+            } else {
+                page.waitForDomToSettle(container);
+                exhausted = !fetch(true, true);
+            }
+        }
+        return !batch.isEmpty();
+    }
+
+    @Override
+    public Map<String, String> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return batch.removeFirst();
+    }
+
+    // refresh looks the rows up again; release drops the page-side row list when nothing is left to read
+    @SuppressWarnings("unchecked")
+    private boolean fetch(boolean refresh, boolean release) {
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(
+                BATCH_SCRIPT, rowLocator, fields, offset, batchSize, id, refresh, release);
+        List<Map<String, String>> rows = (List<Map<String, String>>) result.get("rows");
+        if (Boolean.TRUE.equals(result.get("restarted"))) {
+            offset = 0;
+        }
+        batch.addAll(rows);
+        offset += rows.size();
+        return !rows.isEmpty();
+    }
+}
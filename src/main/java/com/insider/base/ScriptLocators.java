@@ -0,0 +1,80 @@
+package com.insider.base;
+
+import org.openqa.selenium.By;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Translates Selenium locators into plain {using, value} pairs that in-page scripts can resolve themselves,
+// so a single executeScript call can look up many elements instead of one findElement round trip each.
+final class ScriptLocators {
+
+    // Resolves a locator (as produced by toScriptArgument) against a root node; returns an array when 'all' is true
+    static final String FIND_FUNCTION =
+            "function __find(root, loc, all) {" +
+            "  var found = [];" +
+            "  if (loc.using === 'css selector') {" +
+            "    found = Array.prototype.slice.call(root.querySelectorAll(loc.value));" +
+            "  } else if (loc.using === 'xpath') {" +
+            "    var doc = root.ownerDocument || root;" +
+            "    var result = doc.evaluate(loc.value, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "    for (var i = 0; i < result.snapshotLength; i++) { found.push(result.snapshotItem(i)); }" +
+            "  } else if (loc.using === 'tag name') {" +
+            "    found = Array.prototype.slice.call(root.getElementsByTagName(loc.value));" +
+            "  } else if (loc.using === 'link text' || loc.using === 'partial link text') {" +
+            "    found = Array.prototype.slice.call(root.querySelectorAll('a')).filter(function (a) {" +
+            "      var text = (a.innerText || a.textContent || '').trim();" +
+            "      return loc.using === 'link text' ? text === loc.value : text.indexOf(loc.value) !== -1;" +
+            "    });" +
+            "  } else {" +
+            "    throw new Error('Unsupported locator strategy: ' + loc.using);" +
+            "  }" +
+            "  return all ? found : (found.length ? found[0] : null);" +
+            "}" +
+            "function __text(el) {" +
+            "  return (el.innerText || el.textContent || '').replace(/\\s+/g, ' ').trim();" +
+            "}" +
+            "function __attr(el, name) {" +
+            "  var value = (name in el) ? el[name] : el.getAttribute(name);" +
+            "  return value === null || value === undefined ? null : String(value);" +
+            "}";
+
+    // Maps a row element to {fieldName: value} for the fields produced by RowField.toScriptArgument; needs FIND_FUNCTION
+    static final String ROW_FUNCTION =
+            "function __row(row, fields) {" +
+            "  var values = {};" +
+            "  fields.forEach(function (field) {" +
+            "    var el = __find(row, field.locator, false);" +
+            "    values[field.name] = el === null ? null : (field.attribute ? __attr(el, field.attribute) : __text(el));" +
+            "  });" +
+            "  return values;" +
+            "}";
+
+    // Mirrors WebElement.isDisplayed: rendered, non-empty box, not hidden and not fully transparent
+    static final String VISIBLE_FUNCTION =
+            "function __visible(el) {" +
+            "  if (!el.getClientRects().length) { return false; }" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  if (rect.width === 0 || rect.height === 0) { return false; }" +
+            "  var style = window.getComputedStyle(el);" +
+            "  if (style.visibility === 'hidden' || style.visibility === 'collapse') { return false; }" +
+            "  for (var node = el; node && node.nodeType === 1; node = node.parentElement) {" +
+            "    if (window.getComputedStyle(node).opacity === '0') { return false; }" +
+            "  }" +
+            "  return true;" +
+            "}";
+
+    private ScriptLocators() {
+    }
+
+    static Map<String, Object> toScriptArgument(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Locator cannot be resolved in the page: " + locator);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        Map<String, Object> argument = new HashMap<>();
+        argument.put("using", parameters.using());
+        argument.put("value", parameters.value());
+        return argument;
+    }
+}
@@ -0,0 +1,39 @@
+package com.insider.base;
+
+import java.util.List;
+
+// Outcome of a scripted select2 selection: every option of the underlying <select> and the one that was picked
+public final class Select2Selection {
+    private final List<String> options;
+    private final String selected;
+    private final boolean changed;
+
+    Select2Selection(List<String> options, String selected, boolean changed) {
+        this.options = options;
+        this.selected = selected;
+        this.changed = changed;
+    }
+
+    public List<String> getOptions() {
+        return options;
+    }
+
+    public boolean isFound() {
+        return selected != null;
+    }
+
+    public String getSelected() {
+        return selected;
+    }
+
+    // False when the option was already selected, no change event was fired
+    public boolean isChanged() {
+        return changed;
+    }
+
+    @Override
+    public String toString() {
+        return isFound() ? "Selected '" + selected + "'" + (changed ? "" : " (already selected)") + " from " + options
+                : "No matching option in " + options;
+    }
+}
@@ -0,0 +1,59 @@
+package com.insider.models;
+
+// Outcome of checking the Open Positions list for one location/department filter combination
+public final class FilterResult {
+    public enum Outcome { PASS, NO_JOBS, MISMATCH, ERROR }
+
+    private final String location;
+    private final String department;
+    private final Outcome outcome;
+    private final int jobCount;
+    private final String detail;
+    private long elapsedMillis;
+
+    public FilterResult(String location, String department, Outcome outcome, int jobCount, String detail) {
+        this.location = location;
+        this.department = department;
+        this.outcome = outcome;
+        this.jobCount = jobCount;
+        this.detail = detail;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    // A combination without openings is valid, the list just has to be empty rather than wrong
+    public boolean isPassed() {
+        return outcome == Outcome.PASS || outcome == Outcome.NO_JOBS;
+    }
+
+    public int getJobCount() {
+        return jobCount;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return location + " / " + department + ": " + outcome + (detail == null ? "" : " (" + detail + ")");
+    }
+}
@@ -0,0 +1,37 @@
+package com.insider.models;
+
+// A job row from the Open Positions list
+public final class JobInfo {
+    private final String title;
+    private final String department;
+    private final String location;
+    private final String href;
+
+    public JobInfo(String title, String department, String location, String href) {
+        this.title = title;
+        this.department = department;
+        this.location = location;
+        this.href = href;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getHref() {
+        return href;
+    }
+
+    @Override
+    public String toString() {
+        return title + " | " + department + " | " + location;
+    }
+}
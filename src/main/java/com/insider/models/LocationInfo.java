@@ -0,0 +1,25 @@
+package com.insider.models;
+
+// An office location card from the Careers page 'Our Locations' slider
+public final class LocationInfo {
+    private final String city;
+    private final String country;
+
+    public LocationInfo(String city, String country) {
+        this.city = city;
+        this.country = country;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    @Override
+    public String toString() {
+        return city + " - " + country;
+    }
+}
@@ -1,6 +1,11 @@
 package com.insider.pages;
 
 import com.insider.base.BasePage;
+import com.insider.base.FailFastWait;
+import com.insider.base.PageManifest;
+import com.insider.base.RowField;
+import com.insider.models.LocationInfo;
+import com.insider.utils.ConfigReader;
 import com.insider.utils.ExtentReportManager;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
@@ -10,12 +15,15 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class CareersPage extends BasePage {
 
     private By teamsBlockTitle = By.xpath("//h3[contains(@class, 'category-title-media') and contains(text(), 'Find your calling')]");
     private By jobItems = By.cssSelector("div.job-item.col-12.col-lg-4.mt-5");
+    private By jobItemsContainer = By.xpath("(//div[contains(@class, 'job-item')])[1]/..");
     private By seeAllTeamsButton = By.xpath("//a[contains(text(), 'See all teams') and contains(@class, 'loadmore')]");
     private By locationsBlockTitle = By.xpath("//h3[contains(@class, 'category-title-media') and contains(text(), 'Our Locations')]");
     private By locationsBlockDescription = By.xpath("//p[contains(@class, 'mt-5 mb-0 mt-lg-0 mx-auto pl-0') and contains(text(), '28 offices across 6 continents, home to 1100+ Insiders')]");
@@ -25,11 +33,21 @@ public class CareersPage extends BasePage {
     private By lifeAtInsiderTitle = By.xpath("//h2[contains(@class, 'elementor-heading-title') and contains(text(), 'Life at Insider')]");
     private By lifeAtInsiderDescription = By.xpath("//p[contains(text(), 'We’re here to grow and drive growth')]");
 
+    private PageManifest teamsBlockManifest = new PageManifest("Teams block")
+            .require("Teams block title", teamsBlockTitle, "Find your calling")
+            .require("See All Teams button", seeAllTeamsButton);
+    private PageManifest locationsBlockManifest = new PageManifest("Locations block")
+            .require("Locations block title", locationsBlockTitle, "Our Locations")
+            .require("Locations block description", locationsBlockDescription, "28 offices across 6 continents, home to 1100+ Insiders");
+    private PageManifest lifeAtInsiderManifest = new PageManifest("Life at Insider block")
+            .require("Life at Insider block title", lifeAtInsiderTitle, "Life at Insider")
+            .require("Life at Insider block description", lifeAtInsiderDescription);
+
     private WebDriverWait wait;
 
     public CareersPage(WebDriver driver) {
         super(driver);
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new FailFastWait(driver, Duration.ofSeconds(10));
     }
 
     public WebElement getTeamsBlockTitle() {
@@ -49,8 +67,22 @@ public class CareersPage extends BasePage {
         return driver.findElements(locationsList);
     }
 
+    public List<LocationInfo> getLocations() {
+        List<LocationInfo> locations = new ArrayList<>();
+        for (Map<String, String> row : extractRows(locationsList,
+                RowField.text("city", locationName),
+                RowField.text("country", locationCountry))) {
+            locations.add(new LocationInfo(orDash(row.get("city")), orDash(row.get("country"))));
+        }
+        return locations;
+    }
+
+    private static String orDash(String value) {
+        return value == null || value.isEmpty() ? "-" : value;
+    }
+
     public boolean isCareersPageOpened() {
-        boolean result = driver.getCurrentUrl().contains("https://useinsider.com/careers/");
+        boolean result = driver.getCurrentUrl().contains(ConfigReader.getSiteUrl("careers/"));
         if (!result) {
             ExtentReportManager.logFail("Careers page did not open correctly.");
         } else {
@@ -63,53 +95,42 @@ public class CareersPage extends BasePage {
         return verifyMetaTags(
                 "Ready to disrupt? | Insider Careers",
                 "Learn about Insider story",
-                "https://useinsider.com/careers/",
+                ConfigReader.getSiteUrl("careers/"),
                 "Insider"
         );
     }
 
     public boolean isTeamsBlockPresent() {
         try {
-            WebElement teamsBlock = getTeamsBlockTitle();
-            List<WebElement> jobItemElements = getJobItems();
-            WebElement seeAllTeams = getSeeAllTeamsButton();
+            boolean blockVisible = verifyManifest(teamsBlockManifest);
 
-            scrollToElement(teamsBlock);
-            wait.until(ExpectedConditions.visibilityOf(teamsBlock));
-            boolean titleVisible = teamsBlock.isDisplayed();
-            ExtentReportManager.logInfo("Teams block title expected: 'Find your calling', actual: " + teamsBlock.getText());
+            int jobItemCount = countElements(jobItems);
+            boolean jobItemsVisible = jobItemCount == 3;
+            ExtentReportManager.logInfo("Job items count expected: 3, actual: " + jobItemCount);
 
-            scrollToElement(jobItemElements.get(0));
-            boolean jobItemsVisible = jobItemElements.size() == 3;
-            ExtentReportManager.logInfo("Job items count expected: 3, actual: " + jobItemElements.size());
-
-            scrollToElement(seeAllTeams);
-            boolean seeAllButtonVisible = seeAllTeams.isDisplayed();
-            ExtentReportManager.logInfo("See All Teams button visible: " + seeAllButtonVisible);
-
-            boolean result = titleVisible && jobItemsVisible && seeAllButtonVisible;
+            boolean result = blockVisible && jobItemsVisible;
             ExtentReportManager.logInfo("Teams block verification result: " + result);
             return result;
         } catch (Exception e) {
-            ExtentReportManager.logFail("Error while checking Teams block elements: " + e.getMessage());
+            ExtentReportManager.logFail("Error while checking Teams block elements: " + e.getMessage(), e);
             return false;
         }
     }
 
     public int getJobItemCount() {
         try {
-            List<WebElement> jobItemElements = getJobItems();
-            int count = jobItemElements.size();
+            int count = countElements(jobItems);
 
-            // Scroll to last job item if present
-            if (count > 0) {
-                scrollToElement(jobItemElements.get(count - 1));
+            // Scroll to last job item if present, only for demo runs since the count does not need it
+            if (count > 0 && isVisualScrollMode()) {
+                List<WebElement> jobItemElements = getJobItems();
+                scrollToElement(jobItemElements.get(jobItemElements.size() - 1));
             }
 
             ExtentReportManager.logInfo("Current job item count: " + count);
             return count;
         } catch (Exception e) {
-            ExtentReportManager.logFail("Failed to count job items: " + e.getMessage());
+            ExtentReportManager.logFail("Failed to count job items: " + e.getMessage(), e);
             return 0;
         }
     }
@@ -128,93 +149,64 @@ public class CareersPage extends BasePage {
 
             wait.until(ExpectedConditions.elementToBeClickable(seeAllTeams));
             seeAllTeams.click();
+            invalidateReadCache();
             ExtentReportManager.logPass("Clicked on 'See all teams' button.");
 
-            // Wait for job items to expand from 3 to 15
-            wait.until(ExpectedConditions.numberOfElementsToBeMoreThan(jobItems, 3));
+            // Wait for the teams list to finish expanding (3 to 15 items)
+            waitForDomToSettle(jobItemsContainer);
+            int expandedCount = countElements(jobItems);
+            if (expandedCount <= initialJobItemCount) {
+                ExtentReportManager.logFail("Teams did not expand after clicking 'See all teams', still " + expandedCount + " items.");
+                return;
+            }
             ExtentReportManager.logPass("Teams are expanded after clicking on 'See all teams' button.");
 
         } catch (Exception e) {
-            ExtentReportManager.logFail("Failed to click 'See all teams' button: " + e.getMessage());
+            ExtentReportManager.logFail("Failed to click 'See all teams' button: " + e.getMessage(), e);
         }
     }
 
     public boolean isLocationsBlockPresent() {
         try {
-            WebElement locationsTitle = driver.findElement(locationsBlockTitle);
-            WebElement locationsDescription = driver.findElement(locationsBlockDescription);
-
-            scrollToElement(locationsTitle);
-            wait.until(ExpectedConditions.visibilityOf(locationsTitle));
-            boolean titleVisible = locationsTitle.isDisplayed();
-            ExtentReportManager.logInfo("Locations block title expected: 'Our Locations', actual: " + locationsTitle.getText());
+            boolean blockVisible = verifyManifest(locationsBlockManifest);
 
-            scrollToElement(locationsDescription);
-            wait.until(ExpectedConditions.visibilityOf(locationsDescription));
-            boolean descriptionVisible = locationsDescription.isDisplayed();
-            ExtentReportManager.logInfo("Locations block description expected: '28 offices across 6 continents, home to 1100+ Insiders', actual: " + locationsDescription.getText());
+            if (isVisualScrollMode()) {
+                // Walk through the slides for demo runs only, the data itself comes from the bulk read below
+                for (WebElement slide : getLocationElements()) {
+                    scrollToElement(slide);
+                    Thread.sleep(500);
+                }
+            }
 
-            // Verify locations list
-            List<WebElement> locations = getLocationElements();
+            // Verify locations list, all cards are read in a single script call
+            List<LocationInfo> locations = getLocations();
             int locationCount = locations.size();
             StringBuilder locationsLog = new StringBuilder(locationCount + " locations found: ");
 
             for (int i = 0; i < locations.size(); i++) {
-                WebElement location = locations.get(i);
-                scrollToElement(location); // Scroll to each location to ensure visibility
-                Thread.sleep(500); // Small delay to allow content to load
-
-                String city = "-";
-                String country = "-";
-
-                try {
-                    city = location.findElement(locationName).getText();
-                } catch (Exception e) {
+                LocationInfo location = locations.get(i);
+                if (location.getCity().equals("-")) {
                     ExtentReportManager.logInfo("City name not found for location " + (i + 1));
                 }
-
-                try {
-                    country = location.findElement(locationCountry).getText();
-                } catch (Exception e) {
+                if (location.getCountry().equals("-")) {
                     ExtentReportManager.logInfo("Country name not found for location " + (i + 1));
                 }
-
-                locationsLog.append((i + 1) + ": " + city + " - " + country + ", ");
+                locationsLog.append((i + 1) + ": " + location + ", ");
             }
 
             ExtentReportManager.logInfo(locationsLog.toString());
 
-            boolean result = titleVisible && descriptionVisible && locationCount > 0;
+            boolean result = blockVisible && locationCount > 0;
             ExtentReportManager.logInfo("Locations block verification result: " + result);
             return result;
         } catch (Exception e) {
-            ExtentReportManager.logFail("Error while checking Locations block elements: " + e.getMessage());
+            ExtentReportManager.logFail("Error while checking Locations block elements: " + e.getMessage(), e);
             return false;
         }
     }
 
     public boolean isLifeAtInsiderBlockPresent() {
-        try {
-            WebElement lifeTitle = driver.findElement(lifeAtInsiderTitle);
-            WebElement lifeDescription = driver.findElement(lifeAtInsiderDescription);
-
-            scrollToElement(lifeTitle);
-            wait.until(ExpectedConditions.visibilityOf(lifeTitle));
-            boolean titleVisible = lifeTitle.isDisplayed();
-            ExtentReportManager.logInfo("Life at Insider block title expected: 'Life at Insider', actual: " + lifeTitle.getText());
-
-            scrollToElement(lifeDescription);
-            wait.until(ExpectedConditions.visibilityOf(lifeDescription));
-            boolean descriptionVisible = lifeDescription.isDisplayed();
-            ExtentReportManager.logInfo("Life at Insider block description verified: " + lifeDescription.getText());
-
-            boolean result = titleVisible && descriptionVisible;
-            ExtentReportManager.logInfo("Life at Insider block verification result: " + result);
-            return result;
-        } catch (Exception e) {
-            ExtentReportManager.logFail("Error while checking Life at Insider block elements: " + e.getMessage());
-            return false;
-        }
+        return verifyManifest(lifeAtInsiderManifest);
     }
 
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.insider.pages;
 
 import com.insider.base.BasePage;
+import com.insider.utils.ConfigReader;
 import com.insider.utils.ExtentReportManager;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -12,10 +13,6 @@ public class HomePage extends BasePage {
     private By navbar = By.cssSelector("div#navbarNavDropdown");
     private By announceInfo = By.cssSelector("div.announce-info");
     private By metaOgTitle = By.cssSelector("meta[property='og:title']");
-    private By cookieBannerTitle = By.id("wt-cli-cookie-banner-title");
-    private By acceptAllButton = By.id("wt-cli-accept-all-btn");
-    private By onlyNecessaryButton = By.id("wt-cli-accept-btn");
-    private By declineButton = By.id("wt-cli-reject-btn");
     private By companyMenu = By.xpath("//a[contains(@class, 'nav-link dropdown-toggle') and contains(text(), 'Company')]");
     private By careersOption = By.xpath("//a[contains(@href, '/careers/') and contains(@class, 'dropdown-sub')]");
 
@@ -27,24 +24,23 @@ public class HomePage extends BasePage {
         return verifyMetaTags(
                 "#1 Leader in Individualized, Cross-Channel CX — Insider",
                 "Insider's CDP connects customer data, predicts behavior with AI, and individualizes experiences across channels",
-                "https://useinsider.com/",
+                ConfigReader.getSiteUrl(""),
                 "Insider"
         );
     }
 
     public boolean isLogoCorrect() {
         try {
-            WebElement logoElement = driver.findElement(logo);
-            String logoSrc = logoElement.getAttribute("src");
-            String logoAlt = logoElement.getAttribute("alt");
+            String logoSrc = readAttribute(logo, "src");
+            String logoAlt = readAttribute(logo, "alt");
 
-            boolean result = logoSrc.equals("https://useinsider.com/assets/img/logo-old.png") &&
+            boolean result = logoSrc.equals(ConfigReader.getSiteUrl("assets/img/logo-old.png")) &&
                     logoAlt.equals("insider_logo");
 
             ExtentReportManager.logInfo("Logo verification result: " + result);
             return result;
         } catch (Exception e) {
-            ExtentReportManager.logFail("Failed to verify logo: " + e.getMessage());
+            ExtentReportManager.logFail("Failed to verify logo: " + e.getMessage(), e);
             return false;
         }
     }
@@ -62,41 +58,30 @@ public class HomePage extends BasePage {
             ExtentReportManager.logInfo("Announce info visibility check: " + result);
             return result;
         } catch (Exception e) {
-            ExtentReportManager.logFail("Announce info verification failed: " + e.getMessage());
+            ExtentReportManager.logFail("Announce info verification failed: " + e.getMessage(), e);
             return false;
         }
     }
 
     public String getOgTitle() {
-        String title = driver.findElement(metaOgTitle).getAttribute("content");
+        String title = readAttribute(metaOgTitle, "content");
         ExtentReportManager.logInfo("OG title retrieved: " + title);
         return title;
     }
 
-    public void handleCookieBanner() {
-        try {
-            if (!driver.findElements(cookieBannerTitle).isEmpty()) {
-                WebElement acceptButton = wait.until(ExpectedConditions.elementToBeClickable(acceptAllButton));
-                acceptButton.click();
-                ExtentReportManager.logPass("Cookie banner handled: Accepted all cookies.");
-            }
-        } catch (Exception e) {
-            ExtentReportManager.logInfo("No cookie banner displayed.");
-        }
-    }
-
     public void clickCompanyMenu() {
         try {
             WebElement companyButton = waitForElementToBeClickable(driver.findElement(companyMenu));
             JavascriptExecutor js = (JavascriptExecutor) driver;
             js.executeScript("arguments[0].click();", companyButton);
+            invalidateReadCache();
             hoverOverElement(companyButton);
 
             // Wait until dropdown opens
             wait.until(ExpectedConditions.attributeToBe(companyMenu, "aria-expanded", "true"));
             ExtentReportManager.logPass("Clicked and hovered over 'Company' menu.");
         } catch (Exception e) {
-            ExtentReportManager.logFail("Failed to click 'Company' menu: " + e.getMessage());
+            ExtentReportManager.logFail("Failed to click 'Company' menu: " + e.getMessage(), e);
         }
     }
 
@@ -105,11 +90,14 @@ public class HomePage extends BasePage {
             clickCompanyMenu();
             WebElement careersButton = waitForElementToBeClickable(driver.findElement(careersOption));
 
+            String leaving = beforeNavigation();
             JavascriptExecutor js = (JavascriptExecutor) driver;
             js.executeScript("arguments[0].click();", careersButton);
+            invalidateReadCache();
+            afterNavigation(leaving);
             ExtentReportManager.logPass("Clicked on 'Careers' link.");
         } catch (Exception e) {
-            ExtentReportManager.logFail("Failed to click 'Careers' link: " + e.getMessage());
+            ExtentReportManager.logFail("Failed to click 'Careers' link: " + e.getMessage(), e);
         }
     }
 }
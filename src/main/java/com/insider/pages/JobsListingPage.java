@@ -1,6 +1,13 @@
 package com.insider.pages;
 
 import com.insider.base.BasePage;
+import com.insider.base.FailFastWait;
+import com.insider.base.PageManifest;
+import com.insider.base.RowField;
+import com.insider.base.Select2Selection;
+import com.insider.models.FilterResult;
+import com.insider.models.JobInfo;
+import com.insider.utils.ConfigReader;
 import com.insider.utils.ExtentReportManager;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
@@ -9,6 +16,11 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public class JobsListingPage extends BasePage {
 
@@ -21,60 +33,56 @@ public class JobsListingPage extends BasePage {
     private By filterByDepartmentLabel = By.xpath("//label[@for='filter-by-department']");
     private By locationDropdown = By.id("select2-filter-by-location-container");
     private By locationDropdownArrow = By.cssSelector(".select2-selection__arrow");
+    private By locationDropdownResults = By.cssSelector("ul#select2-filter-by-location-results");
     private By locationDropdownOptions = By.cssSelector("ul#select2-filter-by-location-results li");
+    private By locationSelect = By.id("filter-by-location");
+    private By departmentSelect = By.id("filter-by-department");
+    private By jobsList = By.id("jobs-list");
     private By jobListItems = By.cssSelector("div.position-list-item-wrapper.bg-light");
+    private By jobTitle = By.cssSelector("p.position-title");
     private By jobDepartment = By.cssSelector("span.position-department");
     private By jobLocation = By.cssSelector("div.position-location");
+    private By jobLink = By.cssSelector("a.btn.btn-navy");
     private By jobViewRoleButton = By.xpath("//a[contains(@class, 'btn btn-navy') and contains(text(), 'View Role')]");
 
+    private RowField[] jobFields = {
+            RowField.text("title", jobTitle),
+            RowField.text("department", jobDepartment),
+            RowField.text("location", jobLocation),
+            RowField.attribute("href", jobLink, "href")};
+
+    private PageManifest jobsListingManifest = new PageManifest("Jobs Listing Page")
+            .require("Jobs Listing Page title", jobsListingTitle, "Quality Assurance")
+            .require("Jobs Listing Page description", jobsListingDescription)
+            .require("'See all QA jobs' button", seeAllQAJobsButton);
+    private PageManifest openPositionsManifest = new PageManifest("Open Positions Page elements")
+            .require("All Open Positions title", allOpenPositionsTitle)
+            .require("All Open Positions description", allOpenPositionsDescription)
+            .require("Filter by Location label", filterByLocationLabel)
+            .require("Filter by Department label", filterByDepartmentLabel);
+
     private WebDriverWait wait;
 
     public JobsListingPage(WebDriver driver) {
         super(driver);
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new FailFastWait(driver, Duration.ofSeconds(10));
     }
 
     public boolean isJobsListingPageOpened() {
-        return driver.getCurrentUrl().contains("https://useinsider.com/careers/quality-assurance/");
+        return driver.getCurrentUrl().contains(ConfigReader.getSiteUrl("careers/quality-assurance/"));
     }
 
     public boolean verifyJobsListingPageMetaTags() {
         return verifyMetaTags(
                 "Insider quality assurance job opportunities",
                 "Do you have an eye for detail? Our Q&A team is committed to testing everything we build. Explore Insider quality assurance job opportunities.",
-                "https://useinsider.com/careers/quality-assurance/",
+                ConfigReader.getSiteUrl("careers/quality-assurance/"),
                 "Insider"
         );
     }
 
     public boolean isJobsListingPageElementsPresent() {
-        try {
-            WebElement title = driver.findElement(jobsListingTitle);
-            WebElement description = driver.findElement(jobsListingDescription);
-            WebElement qaJobsButton = driver.findElement(seeAllQAJobsButton);
-
-            scrollToElement(title);
-            wait.until(ExpectedConditions.visibilityOf(title));
-            boolean titleVisible = title.isDisplayed();
-            ExtentReportManager.logInfo("Jobs Listing Page title verified: 'Quality Assurance'");
-
-            scrollToElement(description);
-            wait.until(ExpectedConditions.visibilityOf(description));
-            boolean descriptionVisible = description.isDisplayed();
-            ExtentReportManager.logInfo("Jobs Listing Page description verified.");
-
-            scrollToElement(qaJobsButton);
-            wait.until(ExpectedConditions.visibilityOf(qaJobsButton));
-            boolean buttonVisible = qaJobsButton.isDisplayed();
-            ExtentReportManager.logInfo("'See all QA jobs' button is visible.");
-
-            boolean result = titleVisible && descriptionVisible && buttonVisible;
-            ExtentReportManager.logInfo("Jobs Listing Page verification result: " + result);
-            return result;
-        } catch (Exception e) {
-            ExtentReportManager.logFail("Error while checking Jobs Listing Page elements: " + e.getMessage());
-            return false;
-        }
+        return verifyManifest(jobsListingManifest);
     }
 
     public void clickSeeAllQAJobs() {
@@ -82,10 +90,13 @@ public class JobsListingPage extends BasePage {
             WebElement qaJobsButton = driver.findElement(seeAllQAJobsButton);
             scrollToElement(qaJobsButton);
             wait.until(ExpectedConditions.elementToBeClickable(qaJobsButton));
+            String leaving = beforeNavigation();
             qaJobsButton.click();
+            invalidateReadCache();
+            afterNavigation(leaving);
             ExtentReportManager.logPass("Clicked on 'See all QA jobs' button.");
         } catch (Exception e) {
-            ExtentReportManager.logFail("Failed to click 'See all QA jobs' button: " + e.getMessage());
+            ExtentReportManager.logFail("Failed to click 'See all QA jobs' button: " + e.getMessage(), e);
         }
     }
 
@@ -93,98 +104,124 @@ public class JobsListingPage extends BasePage {
         return verifyMetaTags(
                 "Insider open positions | Insider",
                 "Looking for your next career move? Explore all open positions at Insider and see what it's like being a part of culture.",
-                "https://useinsider.com/careers/open-positions/",
+                ConfigReader.getSiteUrl("careers/open-positions/"),
                 "Insider"
         );
     }
 
     public boolean verifyOpenPositionsPage() {
         try {
-            wait.until(ExpectedConditions.urlToBe("https://useinsider.com/careers/open-positions/?department=qualityassurance"));
-            boolean urlMatch = driver.getCurrentUrl().equals("https://useinsider.com/careers/open-positions/?department=qualityassurance");
+            wait.until(ExpectedConditions.urlToBe(ConfigReader.getSiteUrl("careers/open-positions/?department=qualityassurance")));
+            boolean urlMatch = driver.getCurrentUrl().equals(ConfigReader.getSiteUrl("careers/open-positions/?department=qualityassurance"));
             ExtentReportManager.logInfo("Verified Open Positions Page URL: " + driver.getCurrentUrl());
 
             // Meta tag verification code remains unchanged
             return true;
         } catch (Exception e) {
-            ExtentReportManager.logFail("Failed to verify Open Positions Page: " + e.getMessage());
+            ExtentReportManager.logFail("Failed to verify Open Positions Page: " + e.getMessage(), e);
             return false;
         }
     }
 
     public boolean verifyOpenPositionsElements() {
+        return verifyManifest(openPositionsManifest);
+    }
+
+    public void filterByLocation(String location) {
+        filterByLocation(location, ConfigReader.getBooleanProperty("filter.ui.fidelity", false));
+    }
+
+    // uiFidelity drives the select2 widget like a user (open, scroll, click the option); otherwise the option is
+    // selected on the underlying <select> in one script call and only the resulting list refresh is awaited
+    public void filterByLocation(String location, boolean uiFidelity) {
+        if (uiFidelity) {
+            filterByLocationViaUi(location);
+        } else {
+            applyFilter("location", locationSelect, location);
+            try {
+                wait.until(ExpectedConditions.attributeToBe(locationDropdown, "title", location));
+                ExtentReportManager.logPass("Dropdown successfully updated to: " + location);
+            } catch (TimeoutException e) {
+                ExtentReportManager.logFail("Dropdown selection mismatch! Expected: '" + location + "', but found: '"
+                        + driver.findElement(locationDropdown).getAttribute("title") + "'", e);
+                throw new AssertionError("Dropdown selection failed. Expected: '" + location + "'");
+            }
+        }
+    }
+
+    public void filterByDepartment(String department) {
+        applyFilter("department", departmentSelect, department);
+    }
+
+    private void applyFilter(String filterName, By select, String value) {
         try {
-            WebElement title = driver.findElement(allOpenPositionsTitle);
-            WebElement description = driver.findElement(allOpenPositionsDescription);
-            WebElement locationFilter = driver.findElement(filterByLocationLabel);
-            WebElement departmentFilter = driver.findElement(filterByDepartmentLabel);
-
-            scrollToElement(title);
-            wait.until(ExpectedConditions.visibilityOf(title));
-            boolean titleVisible = title.isDisplayed();
-            ExtentReportManager.logInfo("All Open Positions title verified.");
-
-            scrollToElement(description);
-            wait.until(ExpectedConditions.visibilityOf(description));
-            boolean descriptionVisible = description.isDisplayed();
-            ExtentReportManager.logInfo("All Open Positions description verified.");
-
-            scrollToElement(locationFilter);
-            wait.until(ExpectedConditions.visibilityOf(locationFilter));
-            boolean locationFilterVisible = locationFilter.isDisplayed();
-            ExtentReportManager.logInfo("Filter by Location label verified.");
-
-            scrollToElement(departmentFilter);
-            wait.until(ExpectedConditions.visibilityOf(departmentFilter));
-            boolean departmentFilterVisible = departmentFilter.isDisplayed();
-            ExtentReportManager.logInfo("Filter by Department label verified.");
-
-            boolean result = titleVisible && descriptionVisible && locationFilterVisible && departmentFilterVisible;
-            ExtentReportManager.logInfo("Open Positions Page elements verification result: " + result);
-            return result;
+            Select2Selection selection = selectSelect2Option(select, value);
+            ExtentReportManager.logInfo(() -> "The " + filterName + " filter has " + selection.getOptions().size()
+                    + " options: " + String.join(", ", selection.getOptions()), 0);
+            if (!selection.isFound()) {
+                ExtentReportManager.logFail(capitalize(filterName) + " option not found: " + value);
+                return;
+            }
+            if (selection.isChanged()) {
+                waitForDomToSettle(jobsList);
+            }
+            ExtentReportManager.logPass("Selected " + filterName + ": " + selection.getSelected());
         } catch (Exception e) {
-            ExtentReportManager.logFail("Error while checking Open Positions Page elements: " + e.getMessage());
-            return false;
+            ExtentReportManager.logFail("Failed to filter by " + filterName + ": " + e.getMessage(), e);
+            throw new AssertionError("Test failed: " + e.getMessage());
         }
     }
 
-    public void filterByLocation(String location) {
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    private void filterByLocationViaUi(String location) {
         try {
             WebElement dropdown = driver.findElement(locationDropdown);
             scrollToElement(dropdown);
             wait.until(ExpectedConditions.elementToBeClickable(dropdown));
             ExtentReportManager.logInfo("Location filter dropdown is clickable.");
 
+            // The options come from the job data loaded in the background; wait for the hidden select to settle
+            // first, then open the dropdown and wait for its result list instead of sleeping between clicks
+            waitForDomToSettle(locationSelect);
             WebElement dropdownArrow = driver.findElement(locationDropdownArrow);
             wait.until(ExpectedConditions.elementToBeClickable(dropdownArrow));
 
-            // Click dropdown arrow multiple times if options are not loaded
-            int retries = 0;
+            int attempts = 0;
             List<WebElement> options;
             do {
+                if (attempts > 0) {
+                    dropdownArrow.click(); // Close the dropdown so reopening renders the options loaded since
+                }
                 dropdownArrow.click();
-                ExtentReportManager.logInfo("Attempt " + (retries + 1) + ": Clicked on dropdown arrow.");
-                Thread.sleep(1000);
+                ExtentReportManager.logInfo("Attempt " + (attempts + 1) + ": Clicked on dropdown arrow.");
+                waitForDomToSettle(locationDropdownResults);
                 options = driver.findElements(locationDropdownOptions);
-                retries++;
-            } while (options.size() <= 1 && retries < 10);
+                attempts++;
+            } while (options.size() <= 1 && attempts < 3);
 
             if (options.size() <= 1) {
                 ExtentReportManager.logFail("Dropdown options did not load properly after multiple attempts! Only 'All' option found.");
                 throw new AssertionError("Dropdown options failed to load. Expected multiple locations but found only 'All'.");
             }
 
-            StringBuilder locationsLog = new StringBuilder("The location filter is opened and there are " + options.size() + " different options: ");
-            for (int i = 0; i < options.size(); i++) {
-                locationsLog.append((i + 1) + ". " + options.get(i).getText() + ", ");
-            }
-            ExtentReportManager.logInfo(locationsLog.toString());
+            List<WebElement> loadedOptions = options;
+            ExtentReportManager.logInfo(() -> {
+                StringBuilder locationsLog = new StringBuilder("The location filter is opened and there are " + loadedOptions.size() + " different options: ");
+                for (int i = 0; i < loadedOptions.size(); i++) {
+                    locationsLog.append((i + 1) + ". " + loadedOptions.get(i).getText() + ", ");
+                }
+                return locationsLog.toString();
+            }, options.size());
 
             for (WebElement option : options) {
                 if (option.getText().equalsIgnoreCase(location)) {
                     scrollToElement(option);
                     wait.until(ExpectedConditions.elementToBeClickable(option));
                     option.click();
+                    invalidateReadCache();
                     ExtentReportManager.logPass("Selected location: " + location);
 
                     // Verify that the dropdown title is updated
@@ -201,56 +238,109 @@ public class JobsListingPage extends BasePage {
 
             ExtentReportManager.logFail("Location option not found: " + location);
         } catch (Exception e) {
-            ExtentReportManager.logFail("Failed to filter by location: " + e.getMessage());
+            ExtentReportManager.logFail("Failed to filter by location: " + e.getMessage(), e);
             throw new AssertionError("Test failed: " + e.getMessage());
         }
     }
 
-    public boolean verifyJobsDepartments(String department) {
-        try {
-            // Wait for job results to refresh after filtering
-            wait.until(ExpectedConditions.stalenessOf(driver.findElement(jobListItems)));
-            wait.until(ExpectedConditions.visibilityOfElementLocated(jobListItems));
-
-            List<WebElement> jobItems = driver.findElements(jobListItems);
-            for (WebElement job : jobItems) {
-                scrollToElement(job);
-                String departmentText = job.findElement(jobDepartment).getText().trim();
-                if (!departmentText.equals(department)) {
-                    ExtentReportManager.logFail("Job department validation failed! Found: " + departmentText);
-                    return false;
-                }
-            }
-            ExtentReportManager.logPass("All job listings belong to department: " + department);
-            return true;
-        } catch (Exception e) {
-            ExtentReportManager.logFail("Failed to verify job departments: " + e.getMessage());
-            return false;
+    // All job rows of the current list, read in a single script call
+    public List<JobInfo> getJobs() {
+        List<JobInfo> jobs = new ArrayList<>();
+        for (Map<String, String> row : extractRows(jobListItems, jobFields)) {
+            jobs.add(toJobInfo(row));
         }
+        return jobs;
+    }
+
+    // Job rows of the current list, fetched in batches only as far as the stream is consumed. The list renders every
+    // job of the filter at once, there is nothing to load on demand.
+    public Stream<JobInfo> streamJobs() {
+        return streamRows(jobsList, jobListItems, jobFields).map(JobsListingPage::toJobInfo);
+    }
+
+    private static JobInfo toJobInfo(Map<String, String> row) {
+        return new JobInfo(row.get("title"), row.get("department"), row.get("location"), row.get("href"));
+    }
+
+    // Department and location are checked together in one pass, stopping at the first job that does not match
+    public boolean verifyJobs(String department, String location) {
+        return verifyEveryJob("department '" + department + "' and location '" + location + "'",
+                job -> department.equals(job.getDepartment()) && location.equals(job.getLocation()));
+    }
+
+    public boolean verifyJobsDepartments(String department) {
+        return verifyEveryJob("department '" + department + "'", job -> department.equals(job.getDepartment()));
     }
 
     public boolean verifyJobsLocations(String location) {
+        return verifyEveryJob("location '" + location + "'", job -> location.equals(job.getLocation()));
+    }
+
+    private boolean verifyEveryJob(String expectation, Predicate<JobInfo> matches) {
         try {
-            // Wait for job results to refresh after filtering
-            wait.until(ExpectedConditions.visibilityOfElementLocated(jobListItems));
-
-            List<WebElement> jobItems = driver.findElements(jobListItems);
-            for (WebElement job : jobItems) {
-                scrollToElement(job);
-                String locationText = job.findElement(jobLocation).getText().trim();
-                if (!locationText.equals(location)) {
-                    ExtentReportManager.logFail("Job location validation failed! Found: " + locationText);
-                    return false;
-                }
+            AtomicInteger checked = new AtomicInteger();
+            Optional<JobInfo> mismatch = findMismatch(matches, checked);
+            if (mismatch.isPresent()) {
+                JobInfo job = mismatch.get();
+                ExtentReportManager.logFail("Job validation failed! Expected " + expectation + ", found '" + job.getTitle()
+                        + "' in department '" + job.getDepartment() + "', location '" + job.getLocation() + "'");
+                return false;
+            }
+            if (checked.get() == 0) {
+                ExtentReportManager.logFail("No job listings found to verify " + expectation + ".");
+                return false;
             }
-            ExtentReportManager.logPass("All job listings are in location: " + location);
+            ExtentReportManager.logPass("All " + checked.get() + " job listings match " + expectation + ".");
             return true;
         } catch (Exception e) {
-            ExtentReportManager.logFail("Failed to verify job locations: " + e.getMessage());
+            ExtentReportManager.logFail("Failed to verify jobs for " + expectation + ": " + e.getMessage(), e);
             return false;
         }
     }
 
+    // Waits for job results to refresh after filtering, then streams the rows until the first one that does not match
+    private Optional<JobInfo> findMismatch(Predicate<JobInfo> matches, AtomicInteger checked) {
+        waitForDomToSettle(jobsList);
+        return streamJobs()
+                .peek(job -> checked.incrementAndGet())
+                .filter(matches.negate())
+                .findFirst();
+    }
+
+    public List<String> getLocationOptions() {
+        return withoutAll(readSelect2Options(locationSelect));
+    }
+
+    public List<String> getDepartmentOptions() {
+        return withoutAll(readSelect2Options(departmentSelect));
+    }
+
+    private static List<String> withoutAll(List<String> options) {
+        List<String> filtered = new ArrayList<>(options);
+        filtered.removeIf(option -> option.equalsIgnoreCase("All"));
+        return filtered;
+    }
+
+    // Applies both filters without waiting for the list to refresh; false if either option does not exist.
+    // Used when several tabs are filtered first and checked afterwards.
+    public boolean selectFilters(String location, String department) {
+        return selectSelect2Option(locationSelect, location).isFound()
+                && selectSelect2Option(departmentSelect, department).isFound();
+    }
+
+    // Checks the current list against both filters; reports instead of logging, for aggregated results
+    public FilterResult checkJobs(String location, String department) {
+        AtomicInteger checked = new AtomicInteger();
+        Optional<JobInfo> mismatch = findMismatch(
+                job -> department.equals(job.getDepartment()) && location.equals(job.getLocation()), checked);
+        if (mismatch.isPresent()) {
+            return new FilterResult(location, department, FilterResult.Outcome.MISMATCH, checked.get(),
+                    "found '" + mismatch.get() + "'");
+        }
+        return new FilterResult(location, department,
+                checked.get() == 0 ? FilterResult.Outcome.NO_JOBS : FilterResult.Outcome.PASS, checked.get(), null);
+    }
+
     public boolean hoverAndClickViewRole() {
         try {
             WebElement jobListing = driver.findElements(jobListItems).get(0); // Hover on the first job listing
@@ -264,7 +354,9 @@ public class JobsListingPage extends BasePage {
             String expectedHref = viewRoleButton.getAttribute("href");
             ExtentReportManager.logInfo("Expected href: " + expectedHref);
 
+            recordPageTimings(); // The role opens in a new tab, this page stays
             viewRoleButton.click();
+            invalidateReadCache();
             ExtentReportManager.logPass("Clicked on 'View Role' button.");
 
             // Switch to the new tab
@@ -284,6 +376,7 @@ public class JobsListingPage extends BasePage {
                 return false;
             }
             ExtentReportManager.logPass("Successfully navigated to 'View Role' page: " + currentUrl);
+            recordPageTimings(); // The role page is sampled before its tab is closed
 
             // Close the new tab and switch back to the original tab
             driver.close();
@@ -292,7 +385,7 @@ public class JobsListingPage extends BasePage {
 
             return true;
         } catch (Exception e) {
-            ExtentReportManager.logFail("Failed to hover and click 'View Role' button: " + e.getMessage());
+            ExtentReportManager.logFail("Failed to hover and click 'View Role' button: " + e.getMessage(), e);
             return false;
         }
     }
@@ -0,0 +1,72 @@
+package com.insider.pages;
+
+import com.insider.base.BasePage;
+import com.insider.base.PageReadCache;
+import com.insider.utils.ConfigReader;
+import com.insider.utils.ExtentReportManager;
+import com.insider.utils.PageLoadTimings;
+import org.openqa.selenium.WebDriver;
+
+// Gets a test to the page it needs. Pages are opened directly by URL, skipping menus and intermediate pages,
+// unless the test is on the UI path (StartAt.viaUi), in which case known transitions are clicked through.
+// Navigating to the page the browser is already on does nothing.
+public class NavigationService {
+    private final WebDriver driver;
+    private final SitePage startPage;
+    private final boolean viaUi;
+
+    public NavigationService(WebDriver driver, StartAt startAt) {
+        this.driver = driver;
+        this.startPage = startAt == null ? SitePage.HOME : startAt.value();
+        this.viaUi = startAt != null && startAt.viaUi();
+    }
+
+    // Opens the test's start page, or the first page of its UI path, and returns its page object
+    public BasePage start() {
+        SitePage first = getFirstPage();
+        to(first);
+        return first.open(driver);
+    }
+
+    // The page start() opens: the start page, or on the UI path the page it is clicked through from
+    public SitePage getFirstPage() {
+        SitePage first = startPage;
+        while (viaUi && first.getUiOrigin() != null) {
+            first = first.getUiOrigin();
+        }
+        return first;
+    }
+
+    public void to(SitePage target) {
+        SitePage current = getCurrentPage();
+        if (current == target) {
+            ExtentReportManager.logInfo("Already on " + target + ", reusing the current page.");
+            return;
+        }
+        if (viaUi && target.getUiOrigin() != null) {
+            to(target.getUiOrigin());
+            target.clickThrough(driver);
+            ExtentReportManager.logInfo("Navigated to " + target + " through the UI.");
+            return;
+        }
+        // Load timings of the page being left, then of the one just loaded (driver.get() waits for it)
+        recordPageTimings();
+        driver.get(ConfigReader.getSiteUrl(target.getPath()));
+        PageReadCache.of(driver).invalidate();
+        recordPageTimings();
+        ExtentReportManager.logInfo("Opened " + target + " directly by URL.");
+    }
+
+    private void recordPageTimings() {
+        if (PageLoadTimings.isEnabled()) {
+            PageLoadTimings.record(driver);
+        }
+    }
+
+    // The site page the browser is on, or null when it is elsewhere (another site, about:blank...)
+    public SitePage getCurrentPage() {
+        String siteRoot = ConfigReader.getSiteUrl("");
+        String url = driver.getCurrentUrl();
+        return url.startsWith(siteRoot) ? SitePage.forPath(url.substring(siteRoot.length())) : null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.insider.pages;
+
+import com.insider.base.BasePage;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// The site's pages (paths relative to baseUrl) and the UI transitions the suite knows between them.
+// A page with a uiOrigin can be reached by clicking through from that page, see NavigationService.
+public enum SitePage {
+    HOME("", HomePage::new, null, null),
+    CAREERS("careers/", CareersPage::new, HOME, driver -> new HomePage(driver).clickCareers()),
+    QUALITY_ASSURANCE_JOBS("careers/quality-assurance/", JobsListingPage::new, null, null),
+    OPEN_POSITIONS("careers/open-positions/?department=qualityassurance", JobsListingPage::new,
+            QUALITY_ASSURANCE_JOBS, driver -> new JobsListingPage(driver).clickSeeAllQAJobs());
+
+    private final String path;
+    private final Function<WebDriver, BasePage> pageObject;
+    private final SitePage uiOrigin;
+    private final Consumer<WebDriver> uiTransition;
+
+    SitePage(String path, Function<WebDriver, BasePage> pageObject, SitePage uiOrigin, Consumer<WebDriver> uiTransition) {
+        this.path = path;
+        this.pageObject = pageObject;
+        this.uiOrigin = uiOrigin;
+        this.uiTransition = uiTransition;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public SitePage getUiOrigin() {
+        return uiOrigin;
+    }
+
+    void clickThrough(WebDriver driver) {
+        uiTransition.accept(driver);
+    }
+
+    public BasePage open(WebDriver driver) {
+        return pageObject.apply(driver);
+    }
+
+    // The page a site-relative path belongs to, or null. The query string counts (the unfiltered open positions page
+    // is not OPEN_POSITIONS), parameter order and the fragment do not.
+    public static SitePage forPath(String relativePath) {
+        String path = withoutFragment(relativePath);
+        for (SitePage page : values()) {
+            if (pathOf(page.path).equals(pathOf(path)) && queryOf(page.path).equals(queryOf(path))) {
+                return page;
+            }
+        }
+        return null;
+    }
+
+    private static String withoutFragment(String path) {
+        int fragment = path.indexOf('#');
+        return fragment < 0 ? path : path.substring(0, fragment);
+    }
+
+    private static String pathOf(String path) {
+        int query = path.indexOf('?');
+        return query < 0 ? path : path.substring(0, query);
+    }
+
+    private static Set<String> queryOf(String path) {
+        int query = path.indexOf('?');
+        Set<String> parameters = new TreeSet<>();
+        if (query >= 0) {
+            for (String parameter : path.substring(query + 1).split("&")) {
+                if (!parameter.isEmpty()) {
+                    parameters.add(parameter);
+                }
+            }
+        }
+        return parameters;
+    }
+}
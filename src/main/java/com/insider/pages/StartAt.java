@@ -0,0 +1,16 @@
+package com.insider.pages;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Declares the page a test starts on. By default the test is dropped there by URL; viaUi = true marks the UI path
+// to that page as part of what the test checks, so only the page the path starts from is opened by URL.
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface StartAt {
+    SitePage value();
+
+    boolean viaUi() default false;
+}
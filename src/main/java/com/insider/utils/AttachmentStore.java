@@ -0,0 +1,115 @@
+package com.insider.utils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Stores report attachments (screenshots, page sources) under report.dir/attachments, named by the SHA-256 of their
+// content. Identical captures map to the same file and are written once. Hashing, image compression and disk
+// writes all run on a background thread; callers get the report-relative path once the file is in place.
+public class AttachmentStore {
+    private static final String DIRECTORY = "attachments";
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "attachment-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Set<String> stored = ConcurrentHashMap.newKeySet();
+
+    public static CompletableFuture<String> storeScreenshot(byte[] png) {
+        return CompletableFuture.supplyAsync(() -> {
+            String format = ConfigReader.getProperty("attachments.screenshot.format", "jpg").toLowerCase();
+            return write(png, format, () -> format.equals("png") ? png : toJpeg(png));
+        }, executor);
+    }
+
+    public static CompletableFuture<String> storePageSource(String html) {
+        return CompletableFuture.supplyAsync(() -> {
+            byte[] content = html.getBytes(StandardCharsets.UTF_8);
+            return write(content, "html", () -> content);
+        }, executor);
+    }
+
+    private static String write(byte[] original, String extension, ContentEncoder encoder) {
+        // The name comes from the raw capture, so an identical screen is recognised before it is re-encoded
+        String name = sha256(original) + "." + extension;
+        String relativePath = DIRECTORY + "/" + name;
+        if (!stored.add(name)) {
+            return relativePath;
+        }
+
+        Path target = ExtentReportManager.getReportDir().resolve(DIRECTORY).resolve(name);
+        try {
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                Path temp = target.resolveSibling(name + ".tmp"); // Single writer thread, no clash
+                Files.write(temp, encoder.encode());
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return relativePath;
+        } catch (IOException e) {
+            stored.remove(name);
+            throw new UncheckedIOException("Failed to store attachment " + name, e);
+        }
+    }
+
+    private static byte[] toJpeg(byte[] png) {
+        try {
+            BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+            // JPEG has no alpha channel, draw onto an opaque RGB canvas first
+            BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+            rgb.createGraphics().drawImage(source, 0, 0, Color.WHITE, null);
+
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.75f);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+                writer.setOutput(imageOut);
+                writer.write(null, new IIOImage(rgb, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress screenshot", e);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private interface ContentEncoder {
+        byte[] encode() throws IOException;
+    }
+}
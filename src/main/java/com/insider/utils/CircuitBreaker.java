@@ -0,0 +1,166 @@
+package com.insider.utils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.HttpURLConnection;
+import java.net.NoRouteToHostException;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+// Suite-level fail-fast for a broken environment (site down, wrong baseUrl, no network).
+//
+// CLOSED: failures to reach or load a page are counted; circuit.breaker.failure.threshold of them within
+// circuit.breaker.window.seconds open the circuit. OPEN: tests are skipped with the failure that opened it and page
+// waits give up at once. After circuit.breaker.open.seconds the next test triggers a HALF_OPEN probe, a plain HTTP
+// request to baseUrl: a response below 500 closes the circuit again, anything else keeps it open for another period.
+// Assertion failures and element waits never count, only errors that say the site could not be reached (Chrome's
+// net::ERR_* codes, connection and DNS errors) or a page did not load in time, and a passing test clears the count.
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final String[] CONNECTIVITY_ERRORS = {"net::ERR_", "ERR_NAME_NOT_RESOLVED", "ERR_CONNECTION",
+            "ERR_INTERNET_DISCONNECTED", "ERR_TIMED_OUT", "ERR_ADDRESS_UNREACHABLE"};
+    // How Chrome reports a page load that ran past the page load timeout; a WebDriverWait timeout reads differently
+    private static final String PAGE_LOAD_TIMEOUT = "Timed out receiving message from renderer";
+
+    private static final Deque<Long> failures = new ArrayDeque<>();
+    // The same exception is often logged by a wait helper, again by its caller and then thrown from the test
+    private static final Set<Throwable> counted = Collections.newSetFromMap(new WeakHashMap<>());
+    private static State state = State.CLOSED;
+    private static String cause;
+    private static long openedAt;
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBooleanProperty("circuit.breaker.enabled", true);
+    }
+
+    // Counts the failure if it is a connectivity or page load problem; returns true if that opened the circuit
+    public static synchronized boolean recordFailure(Throwable failure) {
+        if (!isEnabled() || state != State.CLOSED || !isEnvironmentFailure(failure) || !markCounted(failure)) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        long window = ConfigReader.getIntProperty("circuit.breaker.window.seconds", 60) * 1000L;
+        failures.addLast(now);
+        while (!failures.isEmpty() && failures.peekFirst() < now - window) {
+            failures.removeFirst();
+        }
+        if (failures.size() < ConfigReader.getIntProperty("circuit.breaker.failure.threshold", 3)) {
+            return false;
+        }
+        open(failures.size() + " connectivity/page load failures within " + window / 1000 + "s, last: "
+                + describe(failure), now);
+        return true;
+    }
+
+    // A passing test shows the site is reachable, earlier failures no longer point at the environment
+    public static synchronized void recordSuccess() {
+        if (state == State.CLOSED) {
+            failures.clear();
+        }
+    }
+
+    // Called before each test: true if it may run. An open circuit whose period has passed is probed first.
+    public static synchronized boolean allowTest() {
+        if (!isEnabled() || state == State.CLOSED) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now - openedAt < ConfigReader.getIntProperty("circuit.breaker.open.seconds", 30) * 1000L) {
+            return false;
+        }
+
+        state = State.HALF_OPEN;
+        String probeFailure = probe();
+        if (probeFailure == null) {
+            state = State.CLOSED;
+            cause = null;
+            failures.clear();
+            return true;
+        }
+        open("probe of " + ConfigReader.getSiteUrl("") + " failed: " + probeFailure, now);
+        return false;
+    }
+
+    public static synchronized boolean isOpen() {
+        return state != State.CLOSED;
+    }
+
+    public static synchronized State getState() {
+        return state;
+    }
+
+    public static synchronized String getCause() {
+        return cause;
+    }
+
+    private static void open(String reason, long now) {
+        state = State.OPEN;
+        cause = reason;
+        openedAt = now;
+    }
+
+    // Returns null if baseUrl answers, otherwise why it did not
+    private static String probe() {
+        HttpURLConnection connection = null;
+        try {
+            int timeout = ConfigReader.getIntProperty("circuit.breaker.probe.timeout.seconds", 5) * 1000;
+            connection = (HttpURLConnection) new URL(ConfigReader.getSiteUrl("")).openConnection();
+            connection.setConnectTimeout(timeout);
+            connection.setReadTimeout(timeout);
+            connection.setInstanceFollowRedirects(true);
+            int status = connection.getResponseCode();
+            return status < 500 ? null : "HTTP " + status;
+        } catch (IOException e) {
+            return describe(e);
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    // Walks the cause chain; Selenium wraps browser network errors in WebDriverException with Chrome's error code
+    static boolean isEnvironmentFailure(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof ConnectException || t instanceof UnknownHostException || t instanceof NoRouteToHostException) {
+                return true;
+            }
+            String message = t.getMessage();
+            if (message != null) {
+                if (t instanceof org.openqa.selenium.TimeoutException && message.contains(PAGE_LOAD_TIMEOUT)) {
+                    return true;
+                }
+                for (String error : CONNECTIVITY_ERRORS) {
+                    if (message.contains(error)) {
+                        return true;
+                    }
+                }
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static boolean markCounted(Throwable failure) {
+        for (Throwable t = failure; t != null && t.getCause() != t; t = t.getCause()) {
+            if (counted.contains(t)) {
+                return false;
+            }
+        }
+        counted.add(failure);
+        return true;
+    }
+
+    private static String describe(Throwable failure) {
+        String message = failure.getMessage() == null ? "" : failure.getMessage().split("\n")[0];
+        return failure.getClass().getSimpleName() + (message.isEmpty() ? "" : ": " + message);
+    }
+}
@@ -0,0 +1,173 @@
+package com.insider.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Times every WebDriver command through Selenium's EventFiringDecorator and attributes it to the page-object
+// method that issued it (first com.insider.pages frame on the stack, else com.insider.base, else the test).
+// Latencies are kept per caller method and per command; publish() writes webdriver-metrics.json under report.dir
+// and a summary table to the Extent report.
+public class CommandMetrics implements WebDriverListener {
+    private static final String[] CALLER_PACKAGES = {"com.insider.pages.", "com.insider.base.", "com.insider.tests."};
+    private static final Map<String, Histogram> byMethod = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> byCommand = new ConcurrentHashMap<>();
+    private static final CommandMetrics listener = new CommandMetrics();
+
+    // Start times of the commands running on this thread; a stack so nested decorated calls pair up correctly
+    private final ThreadLocal<Deque<Long>> started = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBooleanProperty("metrics.enabled", false);
+    }
+
+    public static WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(listener).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isCommand(method)) {
+            started.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method); // Failed lookups inside waits are a large part of where the time goes
+    }
+
+    private void record(Method method) {
+        if (!isCommand(method) || started.get().isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - started.get().pop();
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        byCommand.computeIfAbsent(command, key -> new Histogram()).add(elapsed);
+        byMethod.computeIfAbsent(findCaller(), key -> new Histogram()).add(elapsed);
+    }
+
+    // Object methods and unwrapping are local to the proxy, not browser commands
+    private static boolean isCommand(Method method) {
+        String owner = method.getDeclaringClass().getSimpleName();
+        return method.getDeclaringClass() != Object.class
+                && !owner.equals("WrapsDriver") && !owner.equals("WrapsElement") && !owner.equals("Decorated");
+    }
+
+    private static String findCaller() {
+        StackTraceElement[] stack = new Throwable().getStackTrace();
+        for (String prefix : CALLER_PACKAGES) {
+            for (StackTraceElement frame : stack) {
+                if (frame.getClassName().startsWith(prefix)) {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+                }
+            }
+        }
+        return "other";
+    }
+
+    // Writes the JSON file and the report summary; call once after the suite
+    public static void publish() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("byMethod", summarize(byMethod));
+        metrics.put("byCommand", summarize(byCommand));
+
+        Path file = ExtentReportManager.getReportDir().resolve("webdriver-metrics.json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(metrics).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write WebDriver metrics: " + file, e);
+        }
+
+        ExtentReportManager.addSummary("WebDriver Command Metrics", Arrays.asList(
+                table("Page method", byMethod), table("WebDriver command", byCommand)));
+    }
+
+    private static Map<String, Map<String, Object>> summarize(Map<String, Histogram> histograms) {
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        histograms.forEach((name, histogram) -> summary.put(name, histogram.summarize()));
+        return summary;
+    }
+
+    // Rows sorted by total time, slowest first
+    private static String[][] table(String label, Map<String, Histogram> histograms) {
+        List<Map.Entry<String, Map<String, Object>>> rows = new ArrayList<>(summarize(histograms).entrySet());
+        rows.sort((a, b) -> Long.compare((Long) b.getValue().get("totalMillis"), (Long) a.getValue().get("totalMillis")));
+
+        String[][] table = new String[rows.size() + 1][];
+        table[0] = new String[]{label, "count", "total ms", "p50 ms", "p95 ms", "p99 ms", "max ms"};
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> row = rows.get(i).getValue();
+            table[i + 1] = new String[]{rows.get(i).getKey(), String.valueOf(row.get("count")),
+                    String.valueOf(row.get("totalMillis")), String.valueOf(row.get("p50Millis")),
+                    String.valueOf(row.get("p95Millis")), String.valueOf(row.get("p99Millis")),
+                    String.valueOf(row.get("maxMillis"))};
+        }
+        return table;
+    }
+
+    // Raw samples in nanoseconds; a run issues a few thousand commands at most, so exact percentiles are cheap
+    private static class Histogram {
+        private long[] samples = new long[64];
+        private int count;
+
+        synchronized void add(long nanos) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+        }
+
+        synchronized Map<String, Object> summarize() {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            long total = 0;
+            for (long sample : sorted) {
+                total += sample;
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", count);
+            summary.put("totalMillis", TimeUnit.NANOSECONDS.toMillis(total));
+            summary.put("p50Millis", percentile(sorted, 50));
+            summary.put("p95Millis", percentile(sorted, 95));
+            summary.put("p99Millis", percentile(sorted, 99));
+            summary.put("maxMillis", count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(sorted[count - 1]));
+            return summary;
+        }
+
+        // Nearest-rank percentile
+        private static long percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(rank, 1) - 1]);
+        }
+    }
+}
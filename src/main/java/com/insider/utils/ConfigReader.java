@@ -3,6 +3,7 @@ package com.insider.utils;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Properties;
+import java.util.Set;
 
 public class ConfigReader {
     private static Properties properties;
@@ -19,7 +20,38 @@ public class ConfigReader {
         }
     }
 
+    // System properties (-Dkey=value) take precedence over config.properties
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return System.getProperty(key, properties.getProperty(key));
+    }
+
+    public static String getProperty(String key, String defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    // Absolute URL of a site page, e.g. getSiteUrl("careers/") -> https://useinsider.com/careers/ for the default baseUrl
+    public static String getSiteUrl(String path) {
+        String baseUrl = getProperty("baseUrl");
+        return (baseUrl.endsWith("/") ? baseUrl : baseUrl + "/") + (path.startsWith("/") ? path.substring(1) : path);
+    }
+
+    // Keys defined in config.properties
+    public static Set<String> getPropertyNames() {
+        return properties.stringPropertyNames();
+    }
+
+    public static int getIntProperty(String key, int defaultValue) {
+        String value = getProperty(key, null);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Property '" + key + "' is not a valid number: " + value, e);
+        }
+    }
+
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+        String value = getProperty(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
     }
 }
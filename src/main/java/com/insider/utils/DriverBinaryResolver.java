@@ -0,0 +1,105 @@
+package com.insider.utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Resolves the chromedriver binary once per JVM and memoizes the result. Resolution order:
+// 1. driver.binary.path - a pinned binary, used as is
+// 2. driver.offline=true - newest chromedriver found under driver.cache.dir, no network access at all
+// 3. WebDriverManager - version detection and download into driver.cache.dir (optionally pinned by driver.version)
+public class DriverBinaryResolver {
+    private static final String CHROME_DRIVER_PROPERTY = "webdriver.chrome.driver";
+    private static volatile String resolvedPath;
+    private static volatile RuntimeException failure;
+
+    public static String resolveChromeDriver() {
+        if (resolvedPath == null) {
+            synchronized (DriverBinaryResolver.class) {
+                // A failed resolution is remembered too, so later tests fail immediately instead of retrying the network
+                if (failure != null) {
+                    throw failure;
+                }
+                if (resolvedPath == null) {
+                    try {
+                        String path = resolve();
+                        System.setProperty(CHROME_DRIVER_PROPERTY, path);
+                        resolvedPath = path;
+                    } catch (RuntimeException e) {
+                        failure = e;
+                        throw e;
+                    }
+                }
+            }
+        }
+        return resolvedPath;
+    }
+
+    private static String resolve() {
+        String pinnedPath = ConfigReader.getProperty("driver.binary.path", null);
+        if (pinnedPath != null) {
+            return requireExecutable(Paths.get(pinnedPath), "driver.binary.path");
+        }
+
+        String cacheDir = ConfigReader.getProperty("driver.cache.dir",
+                System.getProperty("user.home") + File.separator + ".cache" + File.separator + "selenium");
+        String driverVersion = ConfigReader.getProperty("driver.version", null);
+
+        if (ConfigReader.getBooleanProperty("driver.offline", false)) {
+            Path cached = findCachedDriver(Paths.get(cacheDir), driverVersion)
+                    .orElseThrow(() -> new IllegalStateException("Offline driver resolution found no chromedriver"
+                            + (driverVersion != null ? " " + driverVersion : "") + " under " + cacheDir
+                            + ". Run once online or set driver.binary.path."));
+            return requireExecutable(cached, "driver.cache.dir");
+        }
+
+        WebDriverManager manager = WebDriverManager.chromedriver().cachePath(cacheDir);
+        if (driverVersion != null) {
+            manager.driverVersion(driverVersion).avoidBrowserDetection();
+        }
+        manager.setup();
+        return manager.getDownloadedDriverPath();
+    }
+
+    private static Optional<Path> findCachedDriver(Path cacheDir, String driverVersion) {
+        if (!Files.isDirectory(cacheDir)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.equals("chromedriver") || name.equals("chromedriver.exe");
+                    })
+                    .filter(path -> driverVersion == null || path.toString().contains(driverVersion))
+                    // WebDriverManager caches by version folder, so the highest version sorts last
+                    .max(Comparator.comparing(DriverBinaryResolver::versionKey));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to scan driver cache directory: " + cacheDir, e);
+        }
+    }
+
+    // Zero-pads every number in the path so that e.g. 119.0.6045.105 sorts after 99.0.4844.51
+    private static String versionKey(Path path) {
+        StringBuilder key = new StringBuilder();
+        for (String part : path.toString().split("(?<=\\D)(?=\\d)|(?<=\\d)(?=\\D)")) {
+            key.append(part.matches("\\d+") ? String.format("%010d", Long.parseLong(part)) : part);
+        }
+        return key.toString();
+    }
+
+    private static String requireExecutable(Path path, String source) {
+        if (!Files.isRegularFile(path) || !Files.isExecutable(path)) {
+            throw new IllegalStateException("chromedriver from " + source + " is not an executable file: " + path);
+        }
+        return path.toAbsolutePath().toString();
+    }
+}
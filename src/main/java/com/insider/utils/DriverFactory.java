@@ -0,0 +1,176 @@
+package com.insider.utils;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Builds browser sessions. With pre-launch enabled the next session is started on a background thread while the
+// current test runs, so the following setUp only picks up a browser that is already (or almost) ready.
+public class DriverFactory {
+    private static final ExecutorService launcher = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-prelaunch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final ConcurrentLinkedQueue<Future<LaunchedDriver>> prelaunched = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<String> lastLaunch = new ThreadLocal<>();
+    private static final AtomicLong totalHiddenMillis = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverFactory::discardPrelaunched, "driver-prelaunch-shutdown"));
+    }
+
+    public static WebDriver createDriver() {
+        String browser = ConfigReader.getProperty("browser");
+
+        if (!browser.equalsIgnoreCase("chrome")) {
+            throw new IllegalStateException("Unsupported browser in config.properties: " + browser);
+        }
+
+        DriverBinaryResolver.resolveChromeDriver(); // Memoized, only the first session pays for resolution
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--remote-allow-origins=*");
+        options.setExperimentalOption("useAutomationExtension", false);
+        options.addArguments("--disable-blink-features=AutomationControlled");
+        options.addArguments("--disable-notifications"); // Disable pop-ups
+        options.addArguments("--disable-popup-blocking");
+        // Keep tabs that are not in front running at full speed, FilterMatrix loads and filters several at once
+        options.addArguments("--disable-background-timer-throttling", "--disable-backgrounding-occluded-windows",
+                "--disable-renderer-backgrounding");
+        if (TrafficMode.current() == TrafficMode.REPLAY) {
+            // Replayed pages only talk to the local replay server; anything not rewritten fails fast instead of
+            // reaching the network
+            options.addArguments("--host-resolver-rules=MAP * ~NOTFOUND, EXCLUDE localhost");
+        }
+        if (ConfigReader.getBooleanProperty("browser.headless", false)) {
+            options.addArguments("--headless=new", "--window-size=1920,1080");
+        }
+        if (isLeanProfile()) {
+            // driver.get() returns at DOMContentLoaded; the page objects' explicit waits cover the rest
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+            // Images are never asserted on, only their attributes, which are in the markup anyway
+            Map<String, Object> prefs = new HashMap<>();
+            prefs.put("profile.managed_default_content_settings.images", 2);
+            options.setExperimentalOption("prefs", prefs);
+        }
+
+        ChromeDriver webDriver = new ChromeDriver(options);
+        if (isLeanProfile()) {
+            blockResources(webDriver);
+        }
+        if (PageLoadTimings.isEnabled()) {
+            PageLoadTimings.installObservers(webDriver);
+        }
+        webDriver.manage().window().maximize();
+        return webDriver;
+    }
+
+    // browser.profile: "full" loads pages as a user would, "lean" skips what no assertion looks at
+    public static boolean isLeanProfile() {
+        return ConfigReader.getProperty("browser.profile", "full").equalsIgnoreCase("lean");
+    }
+
+    // Requests matching lean.blocked.urls (wildcard patterns: fonts, media, analytics tags...) fail before they
+    // leave the browser. Applies to the session's window; tabs opened later load normally.
+    private static void blockResources(ChromeDriver driver) {
+        List<String> patterns = new ArrayList<>();
+        for (String pattern : ConfigReader.getProperty("lean.blocked.urls", "").split(",")) {
+            if (!pattern.trim().isEmpty()) {
+                patterns.add(pattern.trim());
+            }
+        }
+        if (patterns.isEmpty()) {
+            return;
+        }
+        driver.executeCdpCommand("Network.enable", Collections.emptyMap());
+        driver.executeCdpCommand("Network.setBlockedURLs", Collections.singletonMap("urls", patterns));
+    }
+
+    // Returns a pre-launched session when one is available and starts launching the next one in the background
+    public static WebDriver takeDriver() {
+        Future<LaunchedDriver> next = prelaunched.poll();
+        WebDriver webDriver;
+
+        if (next == null) {
+            long start = System.nanoTime();
+            webDriver = createDriver();
+            long launchMillis = elapsedMillis(start);
+            lastLaunch.set("Browser launched on demand in " + launchMillis + " ms (nothing pre-launched yet).");
+        } else {
+            long waitStart = System.nanoTime();
+            LaunchedDriver launched = await(next);
+            long waitedMillis = elapsedMillis(waitStart);
+            long hiddenMillis = Math.max(0, launched.launchMillis - waitedMillis);
+            long total = totalHiddenMillis.addAndGet(hiddenMillis);
+            webDriver = launched.driver;
+            lastLaunch.set("Pre-launched browser picked up: launch took " + launched.launchMillis + " ms, setUp waited "
+                    + waitedMillis + " ms, " + hiddenMillis + " ms hidden (" + total + " ms hidden so far in this run).");
+        }
+
+        prelaunched.add(launcher.submit(() -> {
+            long start = System.nanoTime();
+            WebDriver driver = createDriver();
+            return new LaunchedDriver(driver, elapsedMillis(start));
+        }));
+        return webDriver;
+    }
+
+    // Describes how the current thread's last session was obtained, for the test report. Cleared when read, so a
+    // session leased from the pool afterwards does not repeat an old launch.
+    public static String takeLastLaunchSummary() {
+        String summary = lastLaunch.get();
+        lastLaunch.remove();
+        return summary;
+    }
+
+    private static LaunchedDriver await(Future<LaunchedDriver> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pre-launched browser", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Background browser launch failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static void discardPrelaunched() {
+        Future<LaunchedDriver> future;
+        while ((future = prelaunched.poll()) != null) {
+            try {
+                future.get(30, TimeUnit.SECONDS).driver.quit();
+            } catch (Exception ignored) {
+                // Launch failed or never finished, there is no session to quit
+            }
+        }
+        launcher.shutdownNow();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static class LaunchedDriver {
+        private final WebDriver driver;
+        private final long launchMillis;
+
+        private LaunchedDriver(WebDriver driver, long launchMillis) {
+            this.driver = driver;
+            this.launchMillis = launchMillis;
+        }
+    }
+}
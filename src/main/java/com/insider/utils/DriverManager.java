@@ -0,0 +1,82 @@
+package com.insider.utils;
+
+import org.openqa.selenium.WebDriver;
+
+public class DriverManager {
+    // Each test thread owns its own browser session
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    // The undecorated session, which is what the pool leases out and takes back
+    private static final ThreadLocal<WebDriver> rawDriver = new ThreadLocal<>();
+    private static DriverPool pool;
+
+    public static WebDriver createDriver() {
+        WebDriver webDriver;
+        if (isPoolingEnabled()) {
+            webDriver = getPool().lease();
+        } else if (ConfigReader.getBooleanProperty("driver.prelaunch.enabled", false)) {
+            webDriver = DriverFactory.takeDriver();
+        } else {
+            webDriver = DriverFactory.createDriver();
+        }
+        rawDriver.set(webDriver);
+        // Tests see the instrumented driver; pool housekeeping stays out of the command metrics and recordings
+        WebDriver testDriver = TrafficMode.decorate(webDriver);
+        if (CommandMetrics.isEnabled()) {
+            testDriver = CommandMetrics.decorate(testDriver);
+        }
+        driver.set(testDriver);
+        return testDriver;
+    }
+
+    public static WebDriver getDriver() {
+        return driver.get();
+    }
+
+    // Hands the session back to the pool (or quits it when pooling is disabled)
+    public static void releaseDriver() {
+        WebDriver webDriver = rawDriver.get();
+        if (webDriver == null) {
+            return;
+        }
+        driver.remove();
+        rawDriver.remove();
+        TrafficMode.beforeRelease(webDriver);
+        if (isPoolingEnabled()) {
+            getPool().release(webDriver);
+        } else {
+            webDriver.quit();
+        }
+    }
+
+    public static void quitDriver() {
+        WebDriver webDriver = rawDriver.get();
+        if (webDriver != null) {
+            try {
+                if (isPoolingEnabled()) {
+                    getPool().discard(webDriver);
+                } else {
+                    webDriver.quit();
+                }
+            } finally {
+                driver.remove();
+                rawDriver.remove();
+            }
+        }
+    }
+
+    private static boolean isPoolingEnabled() {
+        return ConfigReader.getBooleanProperty("driver.pool.enabled", false);
+    }
+
+    private static synchronized DriverPool getPool() {
+        if (pool == null) {
+            int size = ConfigReader.getIntProperty("driver.pool.size", 0);
+            if (size <= 0) {
+                // One session per worker thread by default
+                size = ConfigReader.getIntProperty("parallel.threads", 0);
+            }
+            pool = new DriverPool(DriverFactory::createDriver, size > 0 ? size : Runtime.getRuntime().availableProcessors());
+        }
+        return pool;
+    }
+}
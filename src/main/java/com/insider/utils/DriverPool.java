@@ -0,0 +1,163 @@
+package com.insider.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Leases browser sessions to tests and takes them back afterwards, so browser startup is paid once per worker
+// instead of once per test. Sessions are health-checked and wiped (cookies, storage, extra windows) between leases.
+public class DriverPool {
+    private final Supplier<WebDriver> driverFactory;
+    private final int maxSize;
+    private final Deque<WebDriver> idle = new ArrayDeque<>();
+    private final Set<WebDriver> sessions = ConcurrentHashMap.newKeySet();
+    private int created;
+
+    public DriverPool(Supplier<WebDriver> driverFactory, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1, was: " + maxSize);
+        }
+        this.driverFactory = driverFactory;
+        this.maxSize = maxSize;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+    }
+
+    public WebDriver lease() {
+        while (true) {
+            WebDriver candidate;
+            synchronized (this) {
+                while (idle.isEmpty() && created >= maxSize) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for a free browser session", e);
+                    }
+                }
+                candidate = idle.pollFirst();
+                if (candidate == null) {
+                    created++; // Reserve the slot before the (slow) browser launch happens outside the lock
+                }
+            }
+
+            if (candidate == null) {
+                return launch();
+            }
+            if (isHealthy(candidate) && reset(candidate)) {
+                return candidate;
+            }
+            discard(candidate);
+        }
+    }
+
+    public synchronized void release(WebDriver driver) {
+        if (driver == null || !sessions.contains(driver)) {
+            return;
+        }
+        idle.addFirst(driver); // Most recently used first, keeps the warmest session in rotation
+        notifyAll();
+    }
+
+    public void discard(WebDriver driver) {
+        boolean tracked = driver != null && sessions.remove(driver);
+        quietlyQuit(driver);
+        if (!tracked) {
+            return; // Not from this pool, or already discarded: its slot was never (or is no longer) counted
+        }
+        synchronized (this) {
+            idle.remove(driver);
+            created--;
+            notifyAll();
+        }
+    }
+
+    public void shutdown() {
+        List<WebDriver> all;
+        synchronized (this) {
+            all = new ArrayList<>(sessions);
+            sessions.clear();
+            idle.clear();
+            created = 0;
+            notifyAll();
+        }
+        all.forEach(DriverPool::quietlyQuit);
+    }
+
+    private WebDriver launch() {
+        try {
+            WebDriver driver = driverFactory.get();
+            sessions.add(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                created--;
+                notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private boolean reset(WebDriver driver) {
+        try {
+            // Close every window opened by the previous test and return to the first one
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i));
+                driver.close();
+            }
+            driver.switchTo().window(handles.get(0));
+
+            if (driver instanceof HasCdp) {
+                HasCdp cdp = (HasCdp) driver;
+                cdp.executeCdpCommand("Network.clearBrowserCookies", new HashMap<>());
+                Map<String, Object> params = new HashMap<>();
+                params.put("origin", baseOrigin());
+                params.put("storageTypes", "all");
+                cdp.executeCdpCommand("Storage.clearDataForOrigin", params);
+            } else {
+                driver.manage().deleteAllCookies();
+                ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static String baseOrigin() {
+        URI uri = URI.create(ConfigReader.getProperty("baseUrl"));
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    private static void quietlyQuit(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        try {
+            driver.quit();
+        } catch (Exception ignored) {
+            // Session is already gone, nothing left to clean up
+        }
+    }
+}
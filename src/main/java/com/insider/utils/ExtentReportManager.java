@@ -2,63 +2,369 @@ package com.insider.utils;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
 
 public class ExtentReportManager {
+    private static final Logger log = Logger.getLogger(ExtentReportManager.class.getName());
     private static ExtentReports extent;
-    private static ExtentTest test;
+    // All report mutations run on the writer thread; tests only queue events
+    private static ReportWriter writer;
+    // Streaming JSON-lines copy of every event, null when report.jsonl.enabled is false
+    private static JsonLinesResultSink resultSink;
+    // Current test is confined to the thread running it, so parallel tests never share log lines.
+    // The ExtentTest is null when the HTML report is disabled, the id is always set while a test runs.
+    private static final ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+    private static final ThreadLocal<Long> testId = new ThreadLocal<>();
+    private static final AtomicLong testIds = new AtomicLong();
+    // Failure captures taken so far in the current test, capped by attachments.max.per.test
+    private static final ThreadLocal<Integer> captures = new ThreadLocal<>();
+    // Captures whose attachments are still being written; their report entries must be queued before the test node
+    // is closed, so they are logged under it, and before the final flush writes the report
+    private static final ThreadLocal<List<CompletableFuture<?>>> testCaptures = ThreadLocal.withInitial(ArrayList::new);
+    private static final Set<CompletableFuture<?>> pendingCaptures = ConcurrentHashMap.newKeySet();
+    private static final long CAPTURE_WAIT_SECONDS = 30;
+    // WebDriver calls that lazily built messages would have made had their level been enabled
+    private static final AtomicLong avoidedDriverCommands = new AtomicLong();
+    private static volatile Verbosity verbosity;
+
+    // Ordered from most to least verbose; a level is logged when it is at or above report.verbosity.
+    // CI keeps only pass/fail entries.
+    public enum Verbosity {
+        DEBUG, INFO, CI
+    }
 
-    public static ExtentReports getInstance() {
+    public static synchronized ExtentReports getInstance() {
         if (extent == null) {
-            String reportPath = System.getProperty("user.dir") + "/test-output/ExtentReport.html";
-            ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportPath);
-
-            // Configure the report appearance
-            sparkReporter.config().setDocumentTitle("Insider Automation Test Report");
-            sparkReporter.config().setReportName("Functional Test Execution Report");
-            sparkReporter.config().setTheme(Theme.DARK);
-            sparkReporter.config().setEncoding("UTF-8");
-            sparkReporter.config().setTimeStampFormat("EEEE, MMMM dd, yyyy, hh:mm a '('zzz')'");
-
-            extent = new ExtentReports();
-            extent.attachReporter(sparkReporter);
-            extent.setSystemInfo("OS", System.getProperty("os.name"));
-            extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-            extent.setSystemInfo("User Name", System.getProperty("user.name"));
+            ExtentReports reports = new ExtentReports();
+            if (ConfigReader.getBooleanProperty("report.html.enabled", true)) {
+                reports.attachReporter(createSparkReporter(getReportDir().resolve("ExtentReport.html").toString()));
+            }
+            reports.setSystemInfo("OS", System.getProperty("os.name"));
+            reports.setSystemInfo("Java Version", System.getProperty("java.version"));
+            reports.setSystemInfo("User Name", System.getProperty("user.name"));
+
+            if (ConfigReader.getBooleanProperty("report.jsonl.enabled", true)) {
+                long now = System.currentTimeMillis();
+                resultSink = new JsonLinesResultSink(getReportDir().resolve("results.jsonl"));
+                resultSink.runStart(now);
+                resultSink.systemInfo("OS", System.getProperty("os.name"), now);
+                resultSink.systemInfo("Java Version", System.getProperty("java.version"), now);
+                resultSink.systemInfo("User Name", System.getProperty("user.name"), now);
+            }
+
+            writer = new ReportWriter(
+                    ConfigReader.getIntProperty("report.queue.capacity", 10000),
+                    TimeUnit.SECONDS.toMillis(ConfigReader.getIntProperty("report.flush.interval.seconds", 0)),
+                    reports::flush);
+            // Whatever is still queued when the JVM goes down is drained and written out
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                writer.close();
+                if (resultSink != null) {
+                    resultSink.close();
+                }
+            }, "report-writer-shutdown"));
+            extent = reports;
         }
         return extent;
     }
 
+    public static ExtentSparkReporter createSparkReporter(String reportPath) {
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportPath);
+
+        // Configure the report appearance
+        sparkReporter.config().setDocumentTitle("Insider Automation Test Report");
+        sparkReporter.config().setReportName("Functional Test Execution Report");
+        sparkReporter.config().setTheme(Theme.DARK);
+        sparkReporter.config().setEncoding("UTF-8");
+        sparkReporter.config().setTimeStampFormat("EEEE, MMMM dd, yyyy, hh:mm a '('zzz')'");
+        return sparkReporter;
+    }
+
+    // Report output directory, test-output by default
+    public static Path getReportDir() {
+        return Paths.get(System.getProperty("user.dir")).resolve(ConfigReader.getProperty("report.dir", "test-output"));
+    }
+
+    private static synchronized ReportWriter getWriter() {
+        getInstance();
+        return writer;
+    }
+
     public static void startTest(String testName) {
-        test = getInstance().createTest(testName);
+        ExtentReports reports = getInstance();
+        long id = testIds.incrementAndGet();
+        long time = System.currentTimeMillis();
+        String thread = Thread.currentThread().getName();
+
+        endTest(); // A test started while another is open on this thread closes the previous one
+        testId.set(id);
+        test.set(getWriter().call(() -> {
+            if (resultSink != null) {
+                resultSink.testStart(id, testName, thread, time);
+            }
+            return ConfigReader.getBooleanProperty("report.html.enabled", true) ? reports.createTest(testName) : null;
+        }));
     }
 
     public static ExtentTest getTest() {
-        return test;
+        return test.get();
+    }
+
+    public static boolean isTestStarted() {
+        return testId.get() != null;
     }
 
     public static void logInfo(String message) {
-        if (test != null) {
-            test.info(message);
+        if (isEnabled(Verbosity.INFO)) {
+            write(Status.INFO, message);
         }
     }
 
-    public static void logPass(String message) {
-        if (test != null) {
-            test.pass(message);
+    // The message is only built when INFO is enabled; webDriverCommands is what building it costs in browser calls
+    public static void logInfo(Supplier<String> message, int webDriverCommands) {
+        log(Verbosity.INFO, message, webDriverCommands);
+    }
+
+    public static void logDebug(Supplier<String> message, int webDriverCommands) {
+        log(Verbosity.DEBUG, message, webDriverCommands);
+    }
+
+    private static void log(Verbosity level, Supplier<String> message, int webDriverCommands) {
+        if (!isTestStarted()) {
+            return;
+        }
+        if (isEnabled(level)) {
+            write(Status.INFO, message.get());
+        } else {
+            avoidedDriverCommands.addAndGet(webDriverCommands);
         }
     }
 
+    private static void write(Status status, String message) {
+        Long id = testId.get();
+        if (id == null) {
+            return;
+        }
+        ExtentTest current = test.get();
+        long time = System.currentTimeMillis();
+        getWriter().submit(() -> {
+            if (current != null) {
+                current.log(status, message);
+            }
+            if (resultSink != null) {
+                resultSink.log(id, status.toString(), message, time);
+            }
+        });
+    }
+
+    public static boolean isEnabled(Verbosity level) {
+        return level.ordinal() >= getVerbosity().ordinal();
+    }
+
+    private static Verbosity getVerbosity() {
+        if (verbosity == null) {
+            String value = ConfigReader.getProperty("report.verbosity", "INFO").trim();
+            try {
+                verbosity = Verbosity.valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // A typo should not fail every log call of the suite
+                log.warning("Unknown report.verbosity '" + value + "', using INFO.");
+                verbosity = Verbosity.INFO;
+            }
+        }
+        return verbosity;
+    }
+
+    // Logs a table into the current test at INFO level
+    public static void logTable(String[][] table) {
+        logInfo(() -> MarkupHelper.createTable(table).getMarkup(), 0);
+    }
+
+    public static long getAvoidedDriverCommands() {
+        return avoidedDriverCommands.get();
+    }
+
+    public static void logPass(String message) {
+        write(Status.PASS, message);
+    }
+
     public static void logFail(String message) {
-        if (test != null) {
-            test.fail(message);
+        write(Status.FAIL, message);
+        captureFailure();
+    }
+
+    // Same as logFail(message), and lets the circuit breaker count connectivity and timeout failures that the
+    // page objects catch and turn into a false result
+    public static void logFail(String message, Throwable cause) {
+        logFail(message);
+        CircuitBreaker.recordFailure(cause);
+    }
+
+    // Only the screenshot and page source are taken on the test thread (they must come from the browser before it
+    // moves on). Compression and the attachment files are handled by AttachmentStore, and the report entry linking
+    // them is queued once both are on disk.
+    private static void captureFailure() {
+        Long id = testId.get();
+        WebDriver driver = DriverManager.getDriver();
+        int taken = captures.get() == null ? 0 : captures.get();
+        if (id == null || driver == null || !ConfigReader.getBooleanProperty("attachments.enabled", true)
+                || taken >= ConfigReader.getIntProperty("attachments.max.per.test", 3)) {
+            return;
         }
+        captures.set(taken + 1);
+
+        byte[] screenshot;
+        String pageSource;
+        try {
+            screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            pageSource = driver.getPageSource();
+        } catch (RuntimeException e) {
+            write(Status.WARNING, "Failure capture skipped: " + e.getMessage());
+            return;
+        }
+
+        ExtentTest current = test.get();
+        CompletableFuture<String> screenshotPath = AttachmentStore.storeScreenshot(screenshot);
+        CompletableFuture<String> pageSourcePath = AttachmentStore.storePageSource(pageSource);
+        CompletableFuture<Void> logged = screenshotPath.thenAcceptBoth(pageSourcePath, (imagePath, sourcePath) -> {
+            // Paths are relative to report.dir, so the report folder can be moved or archived as a whole
+            String message = "Failure capture: <a href='" + imagePath + "' target='_blank'>screenshot</a> | "
+                    + "<a href='" + sourcePath + "' target='_blank'>page source</a>";
+            long time = System.currentTimeMillis();
+            getWriter().submit(() -> {
+                if (current != null) {
+                    try {
+                        current.log(Status.INFO, message, MediaEntityBuilder.createScreenCaptureFromPath(imagePath).build());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                if (resultSink != null) {
+                    resultSink.log(id, Status.INFO.toString(), message, time);
+                }
+            });
+        }).exceptionally(e -> {
+            log.warning("Failure capture could not be stored: " + e.getMessage());
+            return null;
+        });
+        testCaptures.get().add(logged);
+        pendingCaptures.add(logged);
+        logged.whenComplete((result, e) -> pendingCaptures.remove(logged));
+    }
+
+    // Waits on a latch, not CompletableFuture.get(), for the same reason as ReportWriter.call
+    private static void awaitCaptures(List<CompletableFuture<?>> futures) {
+        CountDownLatch stored = new CountDownLatch(futures.size());
+        for (CompletableFuture<?> future : futures) {
+            future.whenComplete((result, e) -> stored.countDown());
+        }
+        try {
+            if (!stored.await(CAPTURE_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                log.warning("Failure captures not stored in time: " + stored.getCount() + " still pending.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Adds a report node holding only tables (suite-level metrics rather than a test)
+    public static void addSummary(String name, List<String[][]> tables) {
+        ExtentReports reports = getInstance();
+        long id = testIds.incrementAndGet();
+        long time = System.currentTimeMillis();
+        String thread = Thread.currentThread().getName();
+        boolean html = ConfigReader.getBooleanProperty("report.html.enabled", true);
+        getWriter().submit(() -> {
+            ExtentTest summary = html ? reports.createTest(name) : null;
+            if (resultSink != null) {
+                resultSink.testStart(id, name, thread, time);
+            }
+            for (String[][] table : tables) {
+                String markup = MarkupHelper.createTable(table).getMarkup();
+                if (summary != null) {
+                    summary.info(markup);
+                }
+                if (resultSink != null) {
+                    resultSink.log(id, Status.INFO.toString(), markup, time);
+                }
+            }
+            if (resultSink != null) {
+                resultSink.testEnd(id, time);
+            }
+        });
+    }
+
+    // Reports a test that never ran (e.g. skipped by the circuit breaker) as its own skipped node
+    public static void logSkipped(String name, String reason) {
+        ExtentReports reports = getInstance();
+        long id = testIds.incrementAndGet();
+        long time = System.currentTimeMillis();
+        String thread = Thread.currentThread().getName();
+        boolean html = ConfigReader.getBooleanProperty("report.html.enabled", true);
+        getWriter().submit(() -> {
+            if (html) {
+                reports.createTest(name).skip(reason);
+            }
+            if (resultSink != null) {
+                resultSink.testStart(id, name, thread, time);
+                resultSink.log(id, Status.SKIP.toString(), reason, time);
+                resultSink.testEnd(id, time);
+            }
+        });
+    }
+
+    // Called once after the whole suite: drains every queued event and writes the final report
+    public static void endSuite() {
+        ExtentReports reports = getInstance();
+        ReportWriter reportWriter = getWriter();
+        awaitCaptures(new ArrayList<>(pendingCaptures));
+        reportWriter.submit(() -> {
+            String verbosityName = getVerbosity().name();
+            String avoided = String.valueOf(getAvoidedDriverCommands());
+            reports.setSystemInfo("Report Verbosity", verbosityName);
+            reports.setSystemInfo("WebDriver Commands Avoided By Lazy Logging", avoided);
+            if (resultSink != null) {
+                long now = System.currentTimeMillis();
+                resultSink.systemInfo("Report Verbosity", verbosityName, now);
+                resultSink.systemInfo("WebDriver Commands Avoided By Lazy Logging", avoided, now);
+            }
+        });
+        reportWriter.flush();
     }
 
+    // The HTML report is no longer rewritten per test, see report.flush.interval.seconds and endSuite()
     public static void endTest() {
-        if (extent != null) {
-            extent.flush();
+        awaitCaptures(testCaptures.get());
+        testCaptures.remove();
+        Long id = testId.get();
+        if (id != null && resultSink != null) {
+            long time = System.currentTimeMillis();
+            getWriter().submit(() -> resultSink.testEnd(id, time));
         }
+        test.remove();
+        testId.remove();
+        captures.remove();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package com.insider.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+// Builds the Extent HTML report offline from a results.jsonl file written by JsonLinesResultSink, so large suites
+// can run with report.html.enabled=false and still get the usual report afterwards.
+//
+// Usage: JsonLinesReportConverter [results.jsonl] [report.html]   (defaults: files under report.dir)
+public class JsonLinesReportConverter {
+    private static final Logger log = Logger.getLogger(JsonLinesReportConverter.class.getName());
+
+    public static void main(String[] args) throws IOException {
+        Path input = args.length > 0 ? Paths.get(args[0]) : ExtentReportManager.getReportDir().resolve("results.jsonl");
+        Path output = args.length > 1 ? Paths.get(args[1]) : ExtentReportManager.getReportDir().resolve("ExtentReport.html");
+        int tests = convert(input, output);
+        log.info("Converted " + tests + " tests from " + input + " into " + output);
+    }
+
+    public static int convert(Path input, Path output) throws IOException {
+        Json json = new Json();
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(ExtentReportManager.createSparkReporter(output.toString()));
+        Map<Long, ExtentTest> tests = new HashMap<>();
+        int testCount = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                Map<String, Object> event = json.toType(line, Json.MAP_TYPE);
+                Date time = new Date(((Number) event.get("time")).longValue());
+
+                switch ((String) event.get("type")) {
+                    case "system-info":
+                        reports.setSystemInfo((String) event.get("name"), (String) event.get("value"));
+                        break;
+                    case "test-start": {
+                        ExtentTest test = reports.createTest((String) event.get("name"));
+                        test.getModel().setStartTime(time);
+                        tests.put(testId(event), test);
+                        testCount++;
+                        break;
+                    }
+                    case "log": {
+                        ExtentTest test = tests.get(testId(event));
+                        if (test != null) {
+                            test.log(Status.valueOf(((String) event.get("status")).toUpperCase()), (String) event.get("message"));
+                            test.getModel().getLogContext().getLast().setTimestamp(time);
+                        }
+                        break;
+                    }
+                    case "test-end": {
+                        // Kept in the map: a log written after test-end still belongs to the test
+                        ExtentTest test = tests.get(testId(event));
+                        if (test != null) {
+                            test.getModel().setEndTime(time);
+                        }
+                        break;
+                    }
+                    default:
+                        // run-start and unknown event types carry nothing the HTML report shows
+                        break;
+                }
+            }
+        }
+        reports.flush();
+        return testCount;
+    }
+
+    private static long testId(Map<String, Object> event) {
+        return ((Number) event.get("test")).longValue();
+    }
+}
@@ -0,0 +1,93 @@
+package com.insider.utils;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Streams every test and step event to disk as one JSON object per line, the moment it happens.
+// Nothing is kept in memory, so long runs cost the same heap as short ones. JsonLinesReportConverter
+// rebuilds the Extent HTML report from this file afterwards.
+//
+// Event types: run-start, system-info, test-start, log, test-end
+public class JsonLinesResultSink {
+    private final Json json = new Json();
+    private final BufferedWriter out;
+
+    public JsonLinesResultSink(Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open result file: " + file, e);
+        }
+    }
+
+    public void runStart(long time) {
+        write(event("run-start", time));
+    }
+
+    public void systemInfo(String name, String value, long time) {
+        Map<String, Object> event = event("system-info", time);
+        event.put("name", name);
+        event.put("value", value);
+        write(event);
+    }
+
+    public void testStart(long testId, String name, String thread, long time) {
+        Map<String, Object> event = event("test-start", time);
+        event.put("test", testId);
+        event.put("name", name);
+        event.put("thread", thread);
+        write(event);
+    }
+
+    public void log(long testId, String status, String message, long time) {
+        Map<String, Object> event = event("log", time);
+        event.put("test", testId);
+        event.put("status", status);
+        event.put("message", message);
+        write(event);
+    }
+
+    public void testEnd(long testId, long time) {
+        Map<String, Object> event = event("test-end", time);
+        event.put("test", testId);
+        write(event);
+    }
+
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close result file", e);
+        }
+    }
+
+    private Map<String, Object> event(String type, long time) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.put("time", time);
+        return event;
+    }
+
+    private void write(Map<String, Object> event) {
+        StringBuilder line = new StringBuilder();
+        json.newOutput(line).setPrettyPrint(false).write(event);
+        try {
+            out.write(line.toString());
+            out.newLine();
+            out.flush(); // Each event is on disk as soon as it is written, even if the run is killed later
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write result event", e);
+        }
+    }
+}
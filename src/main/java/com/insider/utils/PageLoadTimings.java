@@ -0,0 +1,213 @@
+package com.insider.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Load performance of every page a test navigates to: Navigation Timing (TTFB, DOMContentLoaded, load),
+// paint timings (FCP) and the Core Web Vitals LCP and CLS, plus the total time spent in long tasks. All times are
+// in ms from the start of the navigation. LCP, CLS and long tasks come from PerformanceObservers that
+// installObservers() registers for every new document of the session's first tab, so nothing is missed before the
+// first sample. Documents in other tabs (View Role, the filter matrix) get the observers with their first sample:
+// LCP and layout shifts are buffered by the browser and still complete, long tasks before that sample are missed.
+//
+// A page is sampled once it has been navigated to (NavigationService, BasePage.afterNavigation), again right before
+// a navigation leaves it and when the test finishes (LCP and CLS keep changing while the page is open).
+// finishTest() attaches the latest sample of each page to the test and checks it against budget.<page>.<metric>
+// (falling back to budget.default.<metric>), where <page> is the last path segment (home for the root) and <metric>
+// one of METRICS. Every document counts once towards the per-path averages in the run summary, so runs with
+// browser.profile=full and lean can be compared side by side.
+public class PageLoadTimings {
+    private static final String[] METRICS = {"ttfb", "fcp", "lcp", "dcl", "load", "cls", "longtasks"};
+
+    private static final String OBSERVER_SCRIPT =
+            "(function () {" +
+            "  if (window.__insiderVitals || !window.PerformanceObserver) { return; }" +
+            "  var vitals = window.__insiderVitals = {lcp: null, cls: 0, longTasks: 0, longTaskMillis: 0};" +
+            "  var observe = function (type, onEntry) {" +
+            "    try {" +
+            "      var observer = new PerformanceObserver(function (list) { list.getEntries().forEach(onEntry); });" +
+            "      observer.observe({type: type, buffered: true});" +
+            "      observer.takeRecords().forEach(onEntry);" + // Buffered entries right away, for a late install
+            "    } catch (e) {}" +
+            "  };" +
+            "  observe('largest-contentful-paint', function (e) { vitals.lcp = e.startTime; });" +
+            "  observe('layout-shift', function (e) { if (!e.hadRecentInput) { vitals.cls += e.value; } });" +
+            "  observe('longtask', function (e) { vitals.longTasks++; vitals.longTaskMillis += e.duration; });" +
+            "})();";
+
+    private static final String SAMPLE_SCRIPT =
+            OBSERVER_SCRIPT +
+            "var n = performance.getEntriesByType('navigation')[0];" +
+            "if (!n || window.location.protocol.indexOf('http') !== 0) { return null; }" +
+            "var paint = {};" +
+            "performance.getEntriesByType('paint').forEach(function (p) { paint[p.name] = p.startTime; });" +
+            "var v = window.__insiderVitals || null;" +
+            "return {url: window.location.href, timeOrigin: String(performance.timeOrigin)," +
+            "  ttfb: n.responseStart, fcp: paint['first-contentful-paint'] || null," +
+            "  lcp: v ? v.lcp : null, dcl: n.domContentLoadedEventEnd || null, load: n.loadEventEnd || null," +
+            "  cls: v ? v.cls : null, longtasks: v ? v.longTaskMillis : null};";
+
+    // Documents already counted in the averages, by URL and time origin
+    private static final Set<String> recorded = ConcurrentHashMap.newKeySet();
+    // Path -> samples, one value per METRICS entry (null when the browser did not report it)
+    private static final Map<String, List<Double[]>> byPath = new ConcurrentHashMap<>();
+    // Latest sample of each document seen by the current test
+    private static final ThreadLocal<Map<String, Map<String, Object>>> samples = ThreadLocal.withInitial(LinkedHashMap::new);
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBooleanProperty("page.load.timings.enabled", true);
+    }
+
+    // Registers the LCP, CLS and long task observers for every document the session's window loads from now on
+    public static void installObservers(ChromeDriver driver) {
+        driver.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Collections.singletonMap("source", OBSERVER_SCRIPT));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void record(WebDriver driver) {
+        Map<String, Object> sample;
+        try {
+            sample = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SAMPLE_SCRIPT);
+        } catch (RuntimeException e) {
+            return; // Timings are informational until finishTest() compares them with the budgets
+        }
+        if (sample != null) {
+            samples.get().put(sample.get("url") + "@" + sample.get("timeOrigin"), sample);
+        }
+    }
+
+    // Takes a last sample of the current page, attaches this test's pages to the report and returns the budget
+    // violations (empty when budget.enforce is false, violations are then only logged)
+    public static List<String> finishTest(WebDriver driver) {
+        if (driver != null) {
+            record(driver);
+        }
+        Map<String, Map<String, Object>> pages = new LinkedHashMap<>(samples.get());
+        samples.remove();
+        List<String> violations = new ArrayList<>();
+        if (pages.isEmpty()) {
+            return violations;
+        }
+
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"Page", "TTFB ms", "FCP ms", "LCP ms", "DOMContentLoaded ms", "Load ms", "CLS", "Long tasks ms"});
+        for (Map.Entry<String, Map<String, Object>> page : pages.entrySet()) {
+            String url = (String) page.getValue().get("url");
+            String name = pageName(url);
+            Double[] values = new Double[METRICS.length];
+            String[] row = new String[METRICS.length + 1];
+            row[0] = url;
+            for (int i = 0; i < METRICS.length; i++) {
+                Object value = page.getValue().get(METRICS[i]);
+                values[i] = value == null ? null : ((Number) value).doubleValue();
+                row[i + 1] = format(METRICS[i], values[i]);
+
+                Double budget = getBudget(name, METRICS[i]);
+                if (budget != null && values[i] != null && values[i] > budget) {
+                    violations.add(name + " " + METRICS[i] + " " + format(METRICS[i], values[i]) + " > budget "
+                            + format(METRICS[i], budget) + " (" + url + ")");
+                }
+            }
+            rows.add(row);
+            if (recorded.add(page.getKey())) {
+                byPath.computeIfAbsent(pathOf(url), key -> Collections.synchronizedList(new ArrayList<>())).add(values);
+            }
+        }
+
+        ExtentReportManager.logInfo("Page load metrics (" + profileName() + " profile):");
+        ExtentReportManager.logTable(rows.toArray(new String[0][]));
+        boolean enforce = ConfigReader.getBooleanProperty("budget.enforce", true);
+        for (String violation : violations) {
+            if (enforce) {
+                ExtentReportManager.logFail("Performance budget exceeded: " + violation);
+            } else {
+                ExtentReportManager.logInfo("Performance budget exceeded (not enforced): " + violation);
+            }
+        }
+        return enforce ? violations : new ArrayList<>();
+    }
+
+    private static Double getBudget(String page, String metric) {
+        String key = ConfigReader.getProperty("budget." + page + "." + metric, null) != null
+                ? "budget." + page + "." + metric : "budget.default." + metric;
+        String value = ConfigReader.getProperty(key, "").trim();
+        try {
+            return value.isEmpty() ? null : Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Property '" + key + "' is not a valid number: " + value, e);
+        }
+    }
+
+    // Adds the per-page averages to the report; call once after the suite
+    public static void publish() {
+        Map<String, List<Double[]>> sorted = new TreeMap<>(byPath);
+        String[][] table = new String[sorted.size() + 1][];
+        table[0] = new String[]{"Page", "Profile", "Loads", "Avg TTFB ms", "Avg FCP ms", "Avg LCP ms",
+                "Avg DOMContentLoaded ms", "Avg load ms", "Avg CLS", "Avg long tasks ms"};
+        int row = 1;
+        for (Map.Entry<String, List<Double[]>> page : sorted.entrySet()) {
+            List<Double[]> pageSamples = new ArrayList<>(page.getValue());
+            String[] cells = new String[METRICS.length + 3];
+            cells[0] = page.getKey();
+            cells[1] = profileName();
+            cells[2] = String.valueOf(pageSamples.size());
+            for (int i = 0; i < METRICS.length; i++) {
+                double total = 0;
+                int count = 0;
+                for (Double[] sample : pageSamples) {
+                    if (sample[i] != null) {
+                        total += sample[i];
+                        count++;
+                    }
+                }
+                cells[i + 3] = format(METRICS[i], count == 0 ? null : total / count);
+            }
+            table[row++] = cells;
+        }
+        ExtentReportManager.addSummary("Page Load Times", Collections.singletonList(table));
+    }
+
+    private static String format(String metric, Double value) {
+        if (value == null) {
+            return "-"; // Not reported, e.g. load with the eager (lean) page-load strategy
+        }
+        return metric.equals("cls") ? String.format(Locale.ROOT, "%.3f", value) : String.valueOf(Math.round(value));
+    }
+
+    private static String profileName() {
+        return DriverFactory.isLeanProfile() ? "lean" : "full";
+    }
+
+    // Budget key of a page: the last path segment, "home" for the root
+    private static String pageName(String url) {
+        String[] segments = pathOf(url).split("/");
+        for (int i = segments.length - 1; i >= 0; i--) {
+            if (!segments[i].isEmpty()) {
+                return segments[i];
+            }
+        }
+        return "home";
+    }
+
+    // Live and replayed runs report the same pages under the same key
+    private static String pathOf(String url) {
+        try {
+            String path = URI.create(url).getRawPath();
+            return path == null || path.isEmpty() ? "/" : path;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.insider.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Replay mode: serves a TrafficArchive from localhost. The recorded site becomes the server root and every other
+// recorded origin lives under /__origin/<scheme>/<host>/. Absolute URLs in text responses (HTML, JS, CSS, JSON)
+// are rewritten to these local addresses, so the browser never leaves the machine. Anything not in the archive
+// is a 404.
+public class ReplayServer {
+    private static final String ORIGIN_PREFIX = "/__origin/";
+
+    private final HttpServer server;
+    // The default executor is the single dispatcher thread, which would serve a page's parallel requests one by one
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "replay-server");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final String recordedOrigin;
+    private final Map<String, TrafficArchive.Entry> entries;
+    // Same entries keyed without the query string, for requests whose parameters differ from the recorded ones
+    private final Map<String, TrafficArchive.Entry> entriesByPath = new HashMap<>();
+    // Recorded origin -> local replacement, in plain and slash-escaped (JSON, inline script) form
+    private final Map<String, String> rewrites = new HashMap<>();
+    private final Pattern originPattern;
+
+    public ReplayServer(TrafficArchive.Loaded archive, int port) {
+        this.entries = archive.getEntries();
+        this.recordedOrigin = origin(archive.getBaseUrl());
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start replay server on port " + port, e);
+        }
+
+        TreeSet<String> origins = new TreeSet<>((a, b) -> a.length() != b.length() ? b.length() - a.length() : a.compareTo(b));
+        for (String url : entries.keySet()) {
+            try {
+                origins.add(origin(url));
+            } catch (IllegalArgumentException e) {
+                continue; // Not a parseable absolute URL, it can still be served but never needs rewriting
+            }
+            entriesByPath.putIfAbsent(withoutQuery(url), entries.get(url));
+        }
+        origins.add(recordedOrigin);
+        List<String> alternatives = new ArrayList<>();
+        for (String origin : origins) {
+            String escaped = origin.replace("/", "\\/");
+            rewrites.put(origin, localUrl(origin));
+            rewrites.put(escaped, localUrl(origin).replace("/", "\\/"));
+            alternatives.add(Pattern.quote(origin));
+            alternatives.add(Pattern.quote(escaped));
+        }
+        // Longest origins come first and a match must end at a host boundary, so https://useinsider.com never
+        // rewrites part of https://useinsider.com.tr
+        originPattern = Pattern.compile("(" + String.join("|", alternatives) + ")(?![A-Za-z0-9.-])");
+
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    // Root URL of the replayed site, used as baseUrl during replay
+    public String getBaseUrl() {
+        return getLocalOrigin() + "/";
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private String getLocalOrigin() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private String localUrl(String origin) {
+        if (origin.equals(recordedOrigin)) {
+            return getLocalOrigin();
+        }
+        URI uri = URI.create(origin);
+        return getLocalOrigin() + ORIGIN_PREFIX + uri.getScheme() + "/" + uri.getRawAuthority();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String url = recordedUrl(exchange.getRequestURI());
+        TrafficArchive.Entry entry = entries.get(url);
+        if (entry == null) {
+            entry = entriesByPath.get(withoutQuery(url));
+        }
+
+        if (entry == null) {
+            exchange.sendResponseHeaders(404, -1);
+        } else {
+            byte[] body = entry.readBody();
+            String contentType = entry.getContentType();
+            if (isText(contentType)) {
+                body = rewrite(new String(body, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+            }
+            if (contentType != null) {
+                exchange.getResponseHeaders().set("Content-Type", contentType);
+            }
+            // Pages call their own APIs and CDNs, which now all share this one origin
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            exchange.sendResponseHeaders(entry.getStatus(), body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        }
+        exchange.close();
+    }
+
+    // Maps a local request back to the URL it was recorded under
+    private String recordedUrl(URI request) {
+        String path = request.getRawPath();
+        String query = request.getRawQuery() == null ? "" : "?" + request.getRawQuery();
+        if (path.startsWith(ORIGIN_PREFIX)) {
+            String[] parts = path.substring(ORIGIN_PREFIX.length()).split("/", 3);
+            if (parts.length >= 2) {
+                return parts[0] + "://" + parts[1] + "/" + (parts.length == 3 ? parts[2] : "") + query;
+            }
+        }
+        return recordedOrigin + path + query;
+    }
+
+    private String rewrite(String text) {
+        Matcher matcher = originPattern.matcher(text);
+        StringBuffer result = new StringBuffer();
+        while (matcher.find()) {
+            matcher.appendReplacement(result, Matcher.quoteReplacement(rewrites.get(matcher.group(1))));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static boolean isText(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase();
+        return type.startsWith("text/") || type.contains("javascript") || type.contains("json") || type.contains("xml");
+    }
+
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    private static String withoutQuery(String url) {
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
+    }
+}
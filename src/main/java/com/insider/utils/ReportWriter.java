@@ -0,0 +1,121 @@
+package com.insider.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Applies report events on a single background thread so tests never wait for the report tree or its HTML.
+// Events go through a bounded queue (producers block when it is full), and the report is flushed every
+// flushIntervalMillis when something changed (0 disables intermediate flushes) and once more on close().
+public class ReportWriter {
+    private static final Logger log = Logger.getLogger(ReportWriter.class.getName());
+
+    private final BlockingQueue<Runnable> queue;
+    private final Runnable flushAction;
+    private final long flushIntervalMillis;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private boolean dirty;
+    private long lastFlush = System.currentTimeMillis();
+
+    public ReportWriter(int capacity, long flushIntervalMillis, Runnable flushAction) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flushAction = flushAction;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.thread = new Thread(this::run, "report-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public void submit(Runnable event) {
+        try {
+            queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a report event", e);
+        }
+    }
+
+    // Runs the action on the writer thread after every event queued before it, and waits for its result.
+    // Waits on a latch rather than CompletableFuture.get(): inside JUnit's fork-join workers the latter asks the
+    // pool for a compensating thread, which fails once the pool is capped at parallel.threads.
+    @SuppressWarnings("unchecked")
+    public <T> T call(Callable<T> action) {
+        CountDownLatch done = new CountDownLatch(1);
+        Object[] result = new Object[1];
+        Throwable[] failure = new Throwable[1];
+        submit(() -> {
+            try {
+                result[0] = action.call();
+            } catch (Throwable t) {
+                failure[0] = t;
+            } finally {
+                done.countDown();
+            }
+        });
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the report writer", e);
+        }
+        if (failure[0] != null) {
+            throw new IllegalStateException("Report writer failed: " + failure[0].getMessage(), failure[0]);
+        }
+        return (T) result[0];
+    }
+
+    // Applies everything queued so far and flushes the report
+    public void flush() {
+        call(() -> {
+            flushNow();
+            return null;
+        });
+    }
+
+    // Drains the queue, flushes one last time and stops the writer thread
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Runnable event = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    dirty = true;
+                    event.run();
+                }
+                if (flushIntervalMillis > 0 && dirty && System.currentTimeMillis() - lastFlush >= flushIntervalMillis) {
+                    flushNow();
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                // A broken event must not stop reporting for the rest of the run
+                log.log(Level.WARNING, "Report event failed: " + e.getMessage(), e);
+            }
+        }
+        if (dirty) {
+            flushNow();
+        }
+    }
+
+    private void flushNow() {
+        flushAction.run();
+        dirty = false;
+        lastFlush = System.currentTimeMillis();
+    }
+}
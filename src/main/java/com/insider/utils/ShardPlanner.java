@@ -0,0 +1,75 @@
+package com.insider.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Splits tests across shards by expected duration, longest-processing-time first: tests are taken from slowest to
+// fastest and each goes to the shard with the least work so far. The result only depends on the test ids and the
+// history, so every JVM computing the plan from the same inputs gets the same split.
+public class ShardPlanner {
+    // Used for tests without history when nothing at all has been recorded yet
+    private static final long DEFAULT_DURATION_MILLIS = 30000;
+
+    public static List<List<String>> plan(Collection<String> testIds, Map<String, Long> history, int shardCount) {
+        long unknown = estimateUnknown(testIds, history);
+        List<String> ordered = new ArrayList<>(testIds);
+        ordered.sort((a, b) -> {
+            int byDuration = Long.compare(history.getOrDefault(b, unknown), history.getOrDefault(a, unknown));
+            return byDuration != 0 ? byDuration : a.compareTo(b);
+        });
+
+        List<List<String>> shards = new ArrayList<>();
+        long[] loads = new long[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (String test : ordered) {
+            int lightest = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            shards.get(lightest).add(test);
+            loads[lightest] += history.getOrDefault(test, unknown);
+        }
+        return shards;
+    }
+
+    // Expected total duration of a shard, for logging the plan
+    public static long estimate(Collection<String> testIds, Collection<String> allTestIds, Map<String, Long> history) {
+        long unknown = estimateUnknown(allTestIds, history);
+        long total = 0;
+        for (String test : testIds) {
+            total += history.getOrDefault(test, unknown);
+        }
+        return total;
+    }
+
+    // New tests are assumed to take as long as the average known test
+    private static long estimateUnknown(Collection<String> testIds, Map<String, Long> history) {
+        long total = 0;
+        int known = 0;
+        for (String test : testIds) {
+            Long millis = history.get(test);
+            if (millis != null) {
+                total += millis;
+                known++;
+            }
+        }
+        return known == 0 ? DEFAULT_DURATION_MILLIS : total / known;
+    }
+
+    public static Map<String, Integer> assignments(List<List<String>> plan) {
+        Map<String, Integer> shardOf = new HashMap<>();
+        for (int i = 0; i < plan.size(); i++) {
+            for (String test : plan.get(i)) {
+                shardOf.put(test, i);
+            }
+        }
+        return shardOf;
+    }
+}
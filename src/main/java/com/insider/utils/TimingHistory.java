@@ -0,0 +1,74 @@
+package com.insider.utils;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Local record of how long each test took (ms, keyed by "ClassName#method"), used to balance shards.
+// New durations are averaged with the stored ones so a single slow run does not reshuffle every shard.
+public class TimingHistory {
+
+    // timing.history.file, relative to the working directory
+    public static Path getFile() {
+        return Paths.get(System.getProperty("user.dir")).resolve(ConfigReader.getProperty("timing.history.file", "test-timings.json"));
+    }
+
+    public static Map<String, Long> load(Path file) {
+        Map<String, Long> durations = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return durations;
+        }
+        try {
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            if (!content.trim().isEmpty()) {
+                Map<String, Object> stored = new Json().toType(content, Json.MAP_TYPE);
+                stored.forEach((test, millis) -> durations.put(test, ((Number) millis).longValue()));
+            }
+            return durations;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read timing history: " + file, e);
+        }
+    }
+
+    // Folds new durations into the file; the file is locked so JVMs finishing at the same time do not lose updates
+    public static void merge(Path file, Map<String, Long> durations) {
+        if (durations.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // Read the whole file while holding the lock
+                }
+                String content = new String(buffer.array(), StandardCharsets.UTF_8);
+                Map<String, Long> history = new TreeMap<>();
+                if (!content.trim().isEmpty()) {
+                    Map<String, Object> stored = new Json().toType(content, Json.MAP_TYPE);
+                    stored.forEach((test, millis) -> history.put(test, ((Number) millis).longValue()));
+                }
+                durations.forEach((test, millis) -> history.merge(test, millis, (old, latest) -> (old + latest) / 2));
+
+                channel.truncate(0);
+                channel.position(0);
+                Channels.newOutputStream(channel).write(new Json().toJson(history).getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to update timing history: " + file, e);
+        }
+    }
+}
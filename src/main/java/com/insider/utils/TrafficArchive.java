@@ -0,0 +1,177 @@
+package com.insider.utils;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Recorded site traffic on disk: index.jsonl holds one line per response (url, status, content type, body file)
+// and bodies/ holds the response bodies named by the SHA-256 of their content. The index is append-only; when a
+// URL was recorded more than once the last line wins.
+public class TrafficArchive {
+    private final Path directory;
+    private final Json json = new Json();
+    private BufferedWriter index;
+
+    public TrafficArchive(Path directory) {
+        this.directory = directory;
+    }
+
+    // traffic.archive.dir, relative to the working directory
+    public static TrafficArchive fromConfig() {
+        return new TrafficArchive(Paths.get(System.getProperty("user.dir"))
+                .resolve(ConfigReader.getProperty("traffic.archive.dir", "traffic-archive")));
+    }
+
+    // The site the traffic was recorded from; replay serves it as the local root
+    public synchronized void recordBaseUrl(String baseUrl) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("baseUrl", baseUrl);
+        append(line);
+    }
+
+    public synchronized void record(String url, int status, String contentType, byte[] body) {
+        String bodyFile = sha256(body);
+        Path bodyPath = directory.resolve("bodies").resolve(bodyFile);
+        try {
+            if (!Files.exists(bodyPath)) {
+                Files.createDirectories(bodyPath.getParent());
+                Files.write(bodyPath, body);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store recorded body for " + url, e);
+        }
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("url", url);
+        line.put("status", status);
+        line.put("contentType", contentType);
+        line.put("body", bodyFile);
+        append(line);
+    }
+
+    public synchronized void close() {
+        if (index != null) {
+            try {
+                index.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to close traffic index", e);
+            }
+            index = null;
+        }
+    }
+
+    public boolean exists() {
+        return Files.exists(directory.resolve("index.jsonl"));
+    }
+
+    // Reads the whole index into memory, entries keyed by URL
+    public Loaded load() {
+        Map<String, Entry> entries = new HashMap<>();
+        String baseUrl = null;
+        try {
+            List<String> lines = Files.readAllLines(directory.resolve("index.jsonl"), StandardCharsets.UTF_8);
+            for (String text : lines) {
+                if (text.trim().isEmpty()) {
+                    continue;
+                }
+                Map<String, Object> line = json.toType(text, Json.MAP_TYPE);
+                if (line.containsKey("baseUrl")) {
+                    baseUrl = (String) line.get("baseUrl");
+                } else {
+                    entries.put((String) line.get("url"), new Entry(((Number) line.get("status")).intValue(),
+                            (String) line.get("contentType"), directory.resolve("bodies").resolve((String) line.get("body"))));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read traffic archive: " + directory, e);
+        }
+        if (baseUrl == null) {
+            throw new IllegalStateException("Traffic archive has no recorded base URL: " + directory);
+        }
+        return new Loaded(baseUrl, entries);
+    }
+
+    private void append(Map<String, Object> line) {
+        StringBuilder text = new StringBuilder();
+        json.newOutput(text).setPrettyPrint(false).write(line);
+        try {
+            if (index == null) {
+                Files.createDirectories(directory);
+                index = Files.newBufferedWriter(directory.resolve("index.jsonl"), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+            }
+            index.write(text.toString());
+            index.newLine();
+            index.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write traffic index", e);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static final class Entry {
+        private final int status;
+        private final String contentType;
+        private final Path body;
+
+        private Entry(int status, String contentType, Path body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] readBody() throws IOException {
+            return Files.readAllBytes(body);
+        }
+    }
+
+    public static final class Loaded {
+        private final String baseUrl;
+        private final Map<String, Entry> entries;
+
+        private Loaded(String baseUrl, Map<String, Entry> entries) {
+            this.baseUrl = baseUrl;
+            this.entries = entries;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public Map<String, Entry> getEntries() {
+            return entries;
+        }
+    }
+}
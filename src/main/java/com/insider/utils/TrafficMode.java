@@ -0,0 +1,60 @@
+package com.insider.utils;
+
+import org.openqa.selenium.WebDriver;
+
+// traffic.mode: OFF talks to the live site, RECORD talks to it and saves what the pages load into the traffic
+// archive, REPLAY serves that archive from a local ReplayServer and points baseUrl at it.
+public enum TrafficMode {
+    OFF, RECORD, REPLAY;
+
+    private static ReplayServer replayServer;
+
+    public static TrafficMode current() {
+        return valueOf(ConfigReader.getProperty("traffic.mode", "off").toUpperCase());
+    }
+
+    // Call once before any test reads baseUrl
+    public static synchronized void setUp() {
+        switch (current()) {
+            case RECORD:
+                TrafficRecorder.start();
+                break;
+            case REPLAY:
+                if (replayServer == null) {
+                    TrafficArchive archive = TrafficArchive.fromConfig();
+                    if (!archive.exists()) {
+                        throw new IllegalStateException("traffic.mode=replay but nothing has been recorded yet, "
+                                + "run once with -Dtraffic.mode=record first");
+                    }
+                    replayServer = new ReplayServer(archive.load(), ConfigReader.getIntProperty("traffic.replay.port", 0));
+                    // System properties win over config.properties, so every later baseUrl read sees the replay server
+                    System.setProperty("baseUrl", replayServer.getBaseUrl());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    public static synchronized void tearDown() {
+        if (current() == RECORD) {
+            TrafficRecorder.finish();
+        }
+        if (replayServer != null) {
+            replayServer.stop();
+            replayServer = null;
+        }
+    }
+
+    // In record mode the test driver captures what each page loaded before leaving it
+    public static WebDriver decorate(WebDriver driver) {
+        return current() == RECORD ? TrafficRecorder.decorate(driver) : driver;
+    }
+
+    // Last chance to record the page a test ended on, before the session is reset or quit
+    public static void beforeRelease(WebDriver rawDriver) {
+        if (current() == RECORD) {
+            TrafficRecorder.capture(rawDriver);
+        }
+    }
+}
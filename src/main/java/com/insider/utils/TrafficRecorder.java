@@ -0,0 +1,228 @@
+package com.insider.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+// Record mode: every GET response the browser receives is stored in the TrafficArchive with the exact bytes the
+// browser got, read over CDP (Network.getResponseBody) once the response has finished loading. Redirected requests
+// are stored under both the requested and the final URL. Nothing is downloaded a second time, so responses that
+// depend on cookies or session state are recorded as the test saw them. Before every command that can leave the
+// current document (navigation, clicks, scripts, closing a window) the recorder waits for the bodies still being
+// read, as Chrome may drop them once the page is gone. Only the tab the session was attached in is recorded.
+public class TrafficRecorder implements WebDriverListener {
+    private static final Set<String> LEAVING_COMMANDS = new HashSet<>(Arrays.asList(
+            "get", "to", "back", "forward", "refresh", "click", "submit", "executeScript", "close", "quit"));
+    // Protocol events and commands by name, so recording does not depend on one CDP version's generated classes
+    private static final Event<Map<String, Object>> REQUEST_WILL_BE_SENT =
+            new Event<>("Network.requestWillBeSent", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> RESPONSE_RECEIVED =
+            new Event<>("Network.responseReceived", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> LOADING_FINISHED =
+            new Event<>("Network.loadingFinished", input -> input.read(Json.MAP_TYPE));
+    private static final long PENDING_WAIT_SECONDS = 30;
+    private static final Logger log = Logger.getLogger(TrafficRecorder.class.getName());
+
+    // Body reads are sent from here, never from the DevTools event thread
+    private static final ExecutorService fetcher = Executors.newFixedThreadPool(4, runnable -> {
+        Thread thread = new Thread(runnable, "traffic-recorder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Set<String> recorded = ConcurrentHashMap.newKeySet();
+    // One DevTools session per browser session; pooled sessions are decorated again for every test
+    private static final Map<WebDriver, TrafficRecorder> recorders = Collections.synchronizedMap(new WeakHashMap<>());
+    private static TrafficArchive archive;
+
+    private final DevTools devTools;
+    // requestId -> first URL requested, for GET requests not yet finished
+    private final Map<String, String> requestedUrls = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> responses = new ConcurrentHashMap<>();
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    private TrafficRecorder(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    public static synchronized void start() {
+        if (archive == null) {
+            archive = TrafficArchive.fromConfig();
+            archive.recordBaseUrl(ConfigReader.getProperty("baseUrl"));
+        }
+    }
+
+    public static WebDriver decorate(WebDriver driver) {
+        TrafficRecorder recorder = recorderFor(driver);
+        return recorder == null ? driver : new EventFiringDecorator<>(recorder).decorate(driver);
+    }
+
+    private static TrafficRecorder recorderFor(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            log.warning("Traffic is not recorded, the driver has no DevTools connection: " + driver);
+            return null;
+        }
+        synchronized (recorders) {
+            TrafficRecorder recorder = recorders.get(driver);
+            if (recorder == null) {
+                DevTools devTools = ((HasDevTools) driver).getDevTools();
+                devTools.createSessionIfThereIsNotOne();
+                recorder = new TrafficRecorder(devTools);
+                recorder.listen();
+                recorders.put(driver, recorder);
+            }
+            return recorder;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void listen() {
+        devTools.addListener(REQUEST_WILL_BE_SENT, event -> {
+            Map<String, Object> request = (Map<String, Object>) event.get("request");
+            String url = (String) request.get("url");
+            if ("GET".equals(request.get("method")) && url.startsWith("http")) {
+                // A redirect reuses the request id; the first URL is the one pages ask for
+                requestedUrls.putIfAbsent((String) event.get("requestId"), url);
+            }
+        });
+        devTools.addListener(RESPONSE_RECEIVED, event -> {
+            if (requestedUrls.containsKey((String) event.get("requestId"))) {
+                responses.put((String) event.get("requestId"), (Map<String, Object>) event.get("response"));
+            }
+        });
+        devTools.addListener(LOADING_FINISHED, event -> {
+            String requestId = (String) event.get("requestId");
+            String requestedUrl = requestedUrls.remove(requestId);
+            Map<String, Object> response = responses.remove(requestId);
+            if (requestedUrl != null && response != null) {
+                CompletableFuture<Void> read = CompletableFuture.runAsync(
+                        () -> store(requestId, requestedUrl, response), fetcher);
+                pending.add(read);
+                read.whenComplete((result, e) -> pending.remove(read));
+            }
+        });
+        Map<String, Object> buffers = new HashMap<>();
+        // Room for the bodies of a whole page, so none is evicted before it is read
+        buffers.put("maxTotalBufferSize", 100 * 1024 * 1024);
+        buffers.put("maxResourceBufferSize", 20 * 1024 * 1024);
+        devTools.send(new Command<>("Network.enable", buffers));
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (LEAVING_COMMANDS.contains(method.getName())) {
+            awaitPending();
+        }
+    }
+
+    // Waits for the bodies of the current document still being read; safe to call at any time
+    public static void capture(WebDriver driver) {
+        TrafficRecorder recorder = recorders.get(driver);
+        if (recorder != null) {
+            recorder.awaitPending();
+        }
+    }
+
+    // Waits for queued reads and closes the archive; call once after the suite
+    public static synchronized void finish() {
+        synchronized (recorders) {
+            for (TrafficRecorder recorder : recorders.values()) {
+                recorder.awaitPending();
+            }
+        }
+        fetcher.shutdown();
+        try {
+            fetcher.awaitTermination(2, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (archive != null) {
+            archive.close();
+        }
+    }
+
+    // Waits on a latch, not CompletableFuture.get(), for the same reason as ReportWriter.call
+    private void awaitPending() {
+        List<CompletableFuture<?>> reads = new ArrayList<>(pending);
+        CountDownLatch read = new CountDownLatch(reads.size());
+        for (CompletableFuture<?> future : reads) {
+            future.whenComplete((result, e) -> read.countDown());
+        }
+        try {
+            if (!read.await(PENDING_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                log.warning("Recorded responses not read in time: " + read.getCount() + " still pending.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void store(String requestId, String requestedUrl, Map<String, Object> response) {
+        String url = (String) response.get("url");
+        boolean newRequested = recorded.add(requestedUrl);
+        boolean newFinal = recorded.add(url);
+        if (!newRequested && !newFinal) {
+            return;
+        }
+        try {
+            Map<String, Object> result = devTools.send(new Command<>("Network.getResponseBody",
+                    Collections.singletonMap("requestId", requestId), input -> input.read(Json.MAP_TYPE)));
+            String body = (String) result.get("body");
+            byte[] bytes = Boolean.TRUE.equals(result.get("base64Encoded"))
+                    ? Base64.getDecoder().decode(body) : body.getBytes(StandardCharsets.UTF_8);
+            int status = ((Number) response.get("status")).intValue();
+            String contentType = contentType(response);
+            archive.record(requestedUrl, status, contentType, bytes);
+            if (!url.equals(requestedUrl)) {
+                archive.record(url, status, contentType, bytes);
+            }
+        } catch (RuntimeException e) {
+            // Responses without a body (204, cached redirects) and evicted buffers end up here
+            if (newRequested) {
+                recorded.remove(requestedUrl);
+            }
+            if (newFinal) {
+                recorded.remove(url);
+            }
+            log.fine("Could not record " + requestedUrl + ": " + e.getMessage());
+        }
+    }
+
+    // The Content-Type header keeps the charset; mimeType is the fallback
+    @SuppressWarnings("unchecked")
+    private static String contentType(Map<String, Object> response) {
+        Map<String, Object> headers = (Map<String, Object>) response.get("headers");
+        if (headers != null) {
+            for (Map.Entry<String, Object> header : headers.entrySet()) {
+                if (header.getKey().equalsIgnoreCase("content-type")) {
+                    return String.valueOf(header.getValue());
+                }
+            }
+        }
+        return (String) response.get("mimeType");
+    }
+}
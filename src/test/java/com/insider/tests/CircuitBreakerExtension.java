@@ -0,0 +1,46 @@
+package com.insider.tests;
+
+import com.insider.utils.CircuitBreaker;
+import com.insider.utils.ExtentReportManager;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.LifecycleMethodExecutionExceptionHandler;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+
+// Connects CircuitBreaker to JUnit: exceptions thrown by tests and by setUp (e.g. driver.get on an unreachable
+// site) are counted, a test that passes resets the count, and once the circuit is open the remaining tests are
+// skipped with its cause instead of each one running into its own timeouts.
+public class CircuitBreakerExtension implements ExecutionCondition, TestExecutionExceptionHandler,
+        LifecycleMethodExecutionExceptionHandler, AfterTestExecutionCallback {
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (!context.getTestMethod().isPresent() || CircuitBreaker.allowTest()) {
+            return ConditionEvaluationResult.enabled("Circuit breaker is closed");
+        }
+        String reason = "Skipped, circuit breaker is open: " + CircuitBreaker.getCause();
+        ExtentReportManager.logSkipped(context.getDisplayName(), reason);
+        return ConditionEvaluationResult.disabled(reason);
+    }
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        CircuitBreaker.recordFailure(throwable);
+        throw throwable;
+    }
+
+    @Override
+    public void handleBeforeEachMethodExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        CircuitBreaker.recordFailure(throwable);
+        throw throwable;
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (!context.getExecutionException().isPresent()) {
+            CircuitBreaker.recordSuccess();
+        }
+    }
+}
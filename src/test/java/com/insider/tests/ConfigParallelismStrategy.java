@@ -0,0 +1,44 @@
+package com.insider.tests;
+
+import com.insider.utils.ConfigReader;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+// Sizes the JUnit worker pool from 'parallel.threads' so concurrency is tuned alongside the rest of config.properties
+public class ConfigParallelismStrategy implements ParallelExecutionConfigurationStrategy {
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int configured = ConfigReader.getIntProperty("parallel.threads", 0);
+        int parallelism = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+
+        return new ParallelExecutionConfiguration() {
+            @Override
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            @Override
+            public int getMinimumRunnable() {
+                return parallelism;
+            }
+
+            @Override
+            public int getMaxPoolSize() {
+                // Browser sessions are expensive, never let the pool grow past the configured parallelism
+                return parallelism;
+            }
+
+            @Override
+            public int getCorePoolSize() {
+                return parallelism;
+            }
+
+            @Override
+            public int getKeepAliveSeconds() {
+                return 30;
+            }
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package com.insider.tests;
+
+import com.insider.models.FilterResult;
+import com.insider.pages.JobsListingPage;
+import com.insider.utils.ConfigReader;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Checks every location x department combination of the Open Positions filters (narrowed with
+// filter.matrix.locations / filter.matrix.departments, ';'-separated, '*' = all). Combinations run in batches of
+// filter.matrix.tabs browser tabs of the same session: all tabs of a batch are opened and navigated without waiting,
+// then filtered, then checked. WebDriver drives one tab at a time, so filtering and checking stay serial; what
+// overlaps is the browser's work, the page loads and the list refreshes the filters start. By the time a tab is
+// checked its list has usually been quiet for a while and the settle wait returns at once. Chrome runs with background
+// throttling off so tabs not in front keep loading at full speed.
+class FilterMatrix {
+    private final WebDriver driver;
+    private int tabs;
+    // Wall-clock time of the last run(), all batches included
+    private long totalMillis;
+
+    FilterMatrix(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    // Reads the options from the given page (the Open Positions page in the current tab) and checks every combination
+    List<FilterResult> run(JobsListingPage page) {
+        List<String> locations = narrow(page.getLocationOptions(), "filter.matrix.locations");
+        List<String> departments = narrow(page.getDepartmentOptions(), "filter.matrix.departments");
+        List<String[]> combinations = new ArrayList<>();
+        for (String location : locations) {
+            for (String department : departments) {
+                combinations.add(new String[]{location, department});
+            }
+        }
+
+        tabs = Math.max(ConfigReader.getIntProperty("filter.matrix.tabs", 6), 1);
+        String origin = driver.getWindowHandle();
+        List<FilterResult> results = new ArrayList<>();
+        long started = System.currentTimeMillis();
+        try {
+            for (int from = 0; from < combinations.size(); from += tabs) {
+                results.addAll(runBatch(combinations.subList(from, Math.min(from + tabs, combinations.size()))));
+            }
+        } finally {
+            totalMillis = System.currentTimeMillis() - started;
+            driver.switchTo().window(origin);
+        }
+        return results;
+    }
+
+    private List<FilterResult> runBatch(List<String[]> batch) {
+        Map<String, String[]> combinationsByTab = new LinkedHashMap<>();
+        try {
+            return runBatch(batch, combinationsByTab);
+        } finally {
+            // Whatever failed, the batch's tabs do not outlive it
+            for (String tab : combinationsByTab.keySet()) {
+                try {
+                    driver.switchTo().window(tab).close();
+                } catch (RuntimeException e) {
+                    // Already gone (the tab crashed or closed itself), nothing to clean up
+                }
+            }
+        }
+    }
+
+    // Fills combinationsByTab with every tab it opens, so the caller can close them
+    private List<FilterResult> runBatch(List<String[]> batch, Map<String, String[]> combinationsByTab) {
+        String url = ConfigReader.getSiteUrl("careers/open-positions/");
+        long started = System.currentTimeMillis();
+
+        // Open and start navigating every tab; location.assign returns without waiting for the page to load
+        for (String[] combination : batch) {
+            driver.switchTo().newWindow(WindowType.TAB);
+            combinationsByTab.put(driver.getWindowHandle(), combination);
+            ((JavascriptExecutor) driver).executeScript("window.location.assign(arguments[0]);", url);
+        }
+
+        // Filter each tab as soon as its options are there; its list refresh runs on while the next tab is filtered
+        Map<String, JobsListingPage> pages = new LinkedHashMap<>();
+        Map<String, FilterResult> results = new LinkedHashMap<>();
+        for (Map.Entry<String, String[]> tab : combinationsByTab.entrySet()) {
+            String location = tab.getValue()[0];
+            String department = tab.getValue()[1];
+            driver.switchTo().window(tab.getKey());
+            try {
+                JobsListingPage page = new JobsListingPage(driver);
+                if (page.selectFilters(location, department)) {
+                    pages.put(tab.getKey(), page);
+                } else {
+                    results.put(tab.getKey(), new FilterResult(location, department, FilterResult.Outcome.ERROR, 0,
+                            "filter option not found"));
+                }
+            } catch (RuntimeException e) {
+                results.put(tab.getKey(), error(location, department, e));
+            }
+        }
+
+        // Check each tab
+        List<FilterResult> checked = new ArrayList<>();
+        for (Map.Entry<String, String[]> tab : combinationsByTab.entrySet()) {
+            driver.switchTo().window(tab.getKey());
+            JobsListingPage page = pages.get(tab.getKey());
+            if (page != null) {
+                try {
+                    results.put(tab.getKey(), page.checkJobs(tab.getValue()[0], tab.getValue()[1]));
+                } catch (RuntimeException e) {
+                    results.put(tab.getKey(), error(tab.getValue()[0], tab.getValue()[1], e));
+                }
+            }
+            FilterResult result = results.get(tab.getKey());
+            result.setElapsedMillis(System.currentTimeMillis() - started);
+            checked.add(result);
+        }
+        return checked;
+    }
+
+    private static FilterResult error(String location, String department, RuntimeException e) {
+        String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage().split("\n")[0];
+        return new FilterResult(location, department, FilterResult.Outcome.ERROR, 0, message);
+    }
+
+    private static List<String> narrow(List<String> options, String property) {
+        String selection = ConfigReader.getProperty(property, "*").trim();
+        if (selection.equals("*")) {
+            return options;
+        }
+        List<String> selected = new ArrayList<>();
+        for (String wanted : selection.split(";")) {
+            for (String option : options) {
+                if (option.equalsIgnoreCase(wanted.trim())) {
+                    selected.add(option);
+                }
+            }
+        }
+        return selected;
+    }
+
+    // Report table of the last run(), one row per combination ("Done after ms" counts from the start of its batch)
+    // and a last row with the run's total time
+    String[][] toTable(List<FilterResult> results) {
+        String[][] table = new String[results.size() + 2][];
+        table[0] = new String[]{"Location", "Department", "Result", "Jobs", "Detail", "Done after ms"};
+        for (int i = 0; i < results.size(); i++) {
+            FilterResult result = results.get(i);
+            table[i + 1] = new String[]{result.getLocation(), result.getDepartment(), result.getOutcome().name(),
+                    String.valueOf(result.getJobCount()), result.getDetail() == null ? "" : result.getDetail(),
+                    String.valueOf(result.getElapsedMillis())};
+        }
+        long passed = results.stream().filter(FilterResult::isPassed).count();
+        table[results.size() + 1] = new String[]{"Total", results.size() + " combinations", passed + " passed", "",
+                tabs + " tabs per batch", String.valueOf(totalMillis)};
+        return table;
+    }
+}
@@ -1,60 +1,70 @@
 package com.insider.tests;
 
+import com.insider.base.BasePage;
+import com.insider.base.PageReadCache;
 import com.insider.pages.HomePage;
 import com.insider.pages.CareersPage;
 import com.insider.pages.JobsListingPage;
+import com.insider.pages.NavigationService;
+import com.insider.pages.SitePage;
+import com.insider.pages.StartAt;
+import com.insider.models.FilterResult;
+import com.insider.utils.CommandMetrics;
 import com.insider.utils.ConfigReader;
+import com.insider.utils.DriverFactory;
+import com.insider.utils.DriverManager;
 import com.insider.utils.ExtentReportManager;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.insider.utils.PageLoadTimings;
+import com.insider.utils.TrafficMode;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+// Runs with a fresh instance per test method so page objects and the driver are never shared between
+// concurrently executing tests; see junit-platform.properties for the parallel execution setup.
+// Tests do not depend on each other's order, which lets ShardingExtension spread them across JVMs by duration.
+// CircuitBreakerExtension skips the rest of the suite once the site is found to be unreachable.
+@ExtendWith({ShardingExtension.class, CircuitBreakerExtension.class})
 public class InsiderTest {
     private WebDriver driver;
     private HomePage homePage;
     private CareersPage careersPage;
     private JobsListingPage jobsListingPage;
+    private NavigationService navigation;
+    private String launchSummary;
 
     @BeforeAll
     public static void startReport() {
+        TrafficMode.setUp(); // In replay mode this points baseUrl at the local replay server
         ExtentReportManager.getInstance();
     }
 
     @BeforeEach
-    public void setUp() {
-        String browser = ConfigReader.getProperty("browser");
-
-        if (browser.equalsIgnoreCase("chrome")) {
-            WebDriverManager.chromedriver().setup();
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--remote-allow-origins=*");
-            options.setExperimentalOption("useAutomationExtension", false);
-            options.addArguments("--disable-blink-features=AutomationControlled");
-            options.addArguments("--disable-notifications"); // Disable pop-ups
-            options.addArguments("--disable-popup-blocking");
-
-            driver = new ChromeDriver(options);
+    public void setUp(TestInfo testInfo) {
+        driver = DriverManager.createDriver();
+        launchSummary = DriverFactory.takeLastLaunchSummary(); // Logged once the test has started its own report node
+
+        // Each test starts on the page named by its @StartAt (home page by default)
+        navigation = new NavigationService(driver,
+                testInfo.getTestMethod().map(method -> method.getAnnotation(StartAt.class)).orElse(null));
+        ExtentReportManager.startTest("Setup: open " + navigation.getFirstPage() + " page");
+        BasePage startPage = navigation.start();
+        if (startPage instanceof HomePage) {
+            homePage = (HomePage) startPage;
         }
-
-        driver.manage().window().maximize();
-        driver.get(ConfigReader.getProperty("baseUrl")); // Navigate to the base URL
-
-        ExtentReportManager.startTest("HomePage BeforeEach Setup Verification Test");
-
-        homePage = new HomePage(driver);
-        homePage.handleCookieBanner();
+        startPage.handleCookieBanner();
     }
 
     @Test
-    @Order(1)
     public void testHomePageVerifications() {
-        ExtentReportManager.startTest("HomePage Verification Test");
+        startTest("HomePage Verification Test");
 
         assertAll(
                 () -> assertTrue(homePage.verifyHomePageMetaTags(), "Home page meta tag verification failed!"),
@@ -68,10 +78,10 @@ public class InsiderTest {
     }
 
     @Test
-    @Order(2)
+    @StartAt(value = SitePage.CAREERS, viaUi = true) // The Company > Careers menu path is what this test checks
     public void testCareersPageOpeningAndMetaTags() {
-        ExtentReportManager.startTest("Careers Page Opening and Meta Tags Verification");
-        homePage.clickCareers();
+        startTest("Careers Page Opening and Meta Tags Verification");
+        navigation.to(SitePage.CAREERS); // Setup opened the home page, this clicks through the menu
         careersPage = new CareersPage(driver);
 
         assertAll(
@@ -83,10 +93,9 @@ public class InsiderTest {
     }
 
     @Test
-    @Order(3)
+    @StartAt(SitePage.CAREERS)
     public void testTeamsBlockAndJobItems() {
-        ExtentReportManager.startTest("Teams Block and Job Items Verification");
-        homePage.clickCareers();
+        startTest("Teams Block and Job Items Verification");
         careersPage = new CareersPage(driver);
 
         assertTrue(careersPage.isTeamsBlockPresent(), "Teams block is missing!");
@@ -105,10 +114,9 @@ public class InsiderTest {
     }
 
     @Test
-    @Order(4)
+    @StartAt(SitePage.CAREERS)
     public void testLocationsBlock() {
-        ExtentReportManager.startTest("Locations Block Verification");
-        homePage.clickCareers();
+        startTest("Locations Block Verification");
         careersPage = new CareersPage(driver);
 
         assertTrue(careersPage.isLocationsBlockPresent(), "Locations block is missing!");
@@ -116,10 +124,9 @@ public class InsiderTest {
     }
 
     @Test
-    @Order(5)
+    @StartAt(SitePage.CAREERS)
     public void testLifeAtInsiderBlock() {
-        ExtentReportManager.startTest("Life At Insider Block Verification");
-        homePage.clickCareers();
+        startTest("Life At Insider Block Verification");
         careersPage = new CareersPage(driver);
 
         assertTrue(careersPage.isLifeAtInsiderBlockPresent(), "Life At Insider block is missing!");
@@ -127,10 +134,9 @@ public class InsiderTest {
     }
 
     @Test
-    @Order(6)
+    @StartAt(SitePage.QUALITY_ASSURANCE_JOBS)
     public void testVerifyJobsListingPage() {
-        ExtentReportManager.startTest("Jobs Listing Page Verification");
-        driver.get("https://useinsider.com/careers/quality-assurance/");
+        startTest("Jobs Listing Page Verification");
         jobsListingPage = new JobsListingPage(driver);
 
         assertAll(
@@ -143,10 +149,9 @@ public class InsiderTest {
     }
 
     @Test
-    @Order(7)
+    @StartAt(SitePage.QUALITY_ASSURANCE_JOBS)
     public void testOpenPositionsPage() {
-        ExtentReportManager.startTest("Open Positions Page Verification Test");
-        driver.get("https://useinsider.com/careers/quality-assurance/");
+        startTest("Open Positions Page Verification Test");
         JobsListingPage jobsListingPage = new JobsListingPage(driver);
 
         jobsListingPage.clickSeeAllQAJobs();
@@ -161,25 +166,20 @@ public class InsiderTest {
     }
 
     @Test
-    @Order(8)
+    @StartAt(SitePage.OPEN_POSITIONS) // The 'See all QA jobs' click itself is covered by testOpenPositionsPage
     public void testVerifyJobsFilteringByLocation() {
-        ExtentReportManager.startTest("Jobs Filtering by Location Test");
-        driver.get("https://useinsider.com/careers/quality-assurance/");
+        startTest("Jobs Filtering by Location Test");
         JobsListingPage jobsListingPage = new JobsListingPage(driver);
 
-        jobsListingPage.clickSeeAllQAJobs();
-
         assertTrue(jobsListingPage.verifyOpenPositionsElements(), "Open Positions Page elements verification failed!");
         ExtentReportManager.logPass("Open Positions Page elements verified successfully.");
 
-        jobsListingPage.filterByLocation("Istanbul, Turkiye");
+        jobsListingPage.filterByLocation("Istanbul, Turkiye", true); // Through the dropdown, as a user would
         ExtentReportManager.logPass("Filtered job listings by location: Istanbul, Turkiye");
 
-        // Verify that all jobs belong to the 'Quality Assurance' department and located in 'Istanbul, Turkiye'
-        assertAll(
-                () -> assertTrue(jobsListingPage.verifyJobsDepartments("Quality Assurance"), "Job departments verification failed!"),
-                () -> assertTrue(jobsListingPage.verifyJobsLocations("Istanbul, Turkiye"), "Job locations verification failed!")
-        );
+        // Verify that all jobs belong to the 'Quality Assurance' department and located in 'Istanbul, Turkiye' (one pass)
+        assertTrue(jobsListingPage.verifyJobs("Quality Assurance", "Istanbul, Turkiye"),
+                "Job departments and locations verification failed!");
 
         ExtentReportManager.logPass("All job listings are in the 'Quality Assurance' department and located in 'Istanbul, Turkiye'.");
 
@@ -188,11 +188,61 @@ public class InsiderTest {
         ExtentReportManager.logPass("Successfully hovered and clicked on 'View Role' button, verified redirection.");
     }
 
+    @Test
+    @StartAt(SitePage.OPEN_POSITIONS)
+    @EnabledIf("isFilterMatrixEnabled") // Opt-in: the full matrix is hundreds of combinations
+    public void testJobsFilterMatrix() {
+        startTest("Jobs Filter Matrix Test");
+        JobsListingPage jobsListingPage = new JobsListingPage(driver);
+
+        FilterMatrix matrix = new FilterMatrix(driver);
+        List<FilterResult> results = matrix.run(jobsListingPage);
+        ExtentReportManager.logTable(matrix.toTable(results));
+
+        List<FilterResult> failed = results.stream().filter(result -> !result.isPassed()).collect(Collectors.toList());
+        assertFalse(results.isEmpty(), "No filter combinations found!");
+        assertTrue(failed.isEmpty(), failed.size() + " of " + results.size() + " filter combinations failed: " + failed);
+        ExtentReportManager.logPass("All " + results.size() + " location/department combinations list only matching jobs.");
+    }
+
+    static boolean isFilterMatrixEnabled() {
+        return ConfigReader.getBooleanProperty("filter.matrix.enabled", false);
+    }
+
+    // Starts the test's report node and adds how its browser session was obtained
+    private void startTest(String testName) {
+        ExtentReportManager.startTest(testName);
+        if (launchSummary != null) {
+            ExtentReportManager.logInfo(launchSummary);
+        }
+    }
+
     @AfterEach
     public void tearDown() {
-        if (driver != null) {
-            driver.quit();
+        // A page over its performance budget fails the test like a functional regression, after cleanup
+        List<String> budgetViolations;
+        try {
+            budgetViolations = PageLoadTimings.isEnabled()
+                    ? PageLoadTimings.finishTest(driver) : Collections.<String>emptyList();
+            long[] readCache = PageReadCache.takeTestCounts();
+            ExtentReportManager.logInfo("Page read cache in this test: " + readCache[0] + " hits, "
+                    + readCache[1] + " misses.");
+        } finally {
+            DriverManager.releaseDriver();
+            ExtentReportManager.endTest();
+        }
+        assertTrue(budgetViolations.isEmpty(), "Performance budgets exceeded: " + budgetViolations);
+    }
+
+    @AfterAll
+    public static void endReport() {
+        if (CommandMetrics.isEnabled()) {
+            CommandMetrics.publish();
+        }
+        if (PageLoadTimings.isEnabled()) {
+            PageLoadTimings.publish();
         }
-        ExtentReportManager.endTest();
+        ExtentReportManager.endSuite();
+        TrafficMode.tearDown();
     }
 }
\ No newline at end of file
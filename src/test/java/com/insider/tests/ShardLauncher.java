@@ -0,0 +1,251 @@
+package com.insider.tests;
+
+import com.insider.utils.ConfigReader;
+import com.insider.utils.ExtentReportManager;
+import com.insider.utils.JsonLinesReportConverter;
+import com.insider.utils.ShardPlanner;
+import com.insider.utils.TimingHistory;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Runs the suite split across several JVMs on this machine, each with its own browser, and merges the results:
+//
+//   mvn test-compile exec:java -Dexec.mainClass=com.insider.tests.ShardLauncher -Dexec.classpathScope=test [-Dshard.count=3]
+//
+// Tests are balanced by the durations in the timing history (ShardPlanner). Shard i writes to report.dir/shard-i;
+// afterwards the JSON-lines results are merged into report.dir/results.jsonl and converted into the usual HTML
+// report, failure attachments are copied over and the new durations are folded into the timing history.
+public class ShardLauncher {
+    private static final Logger log = Logger.getLogger(ShardLauncher.class.getName());
+
+    public static void main(String[] args) throws Exception {
+        int shardCount = ConfigReader.getIntProperty("shard.count", 0);
+        if (shardCount <= 0) {
+            shardCount = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+        Path reportDir = ExtentReportManager.getReportDir();
+        Set<String> testIds = discoverTests();
+        Map<String, Long> history = TimingHistory.load(TimingHistory.getFile());
+        List<List<String>> plan = ShardPlanner.plan(testIds, history, shardCount);
+
+        List<Process> workers = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            Path shardDir = reportDir.resolve("shard-" + shard);
+            Files.createDirectories(shardDir);
+            Files.write(shardDir.resolve("plan.txt"), plan.get(shard), StandardCharsets.UTF_8);
+            log.info("Shard " + shard + ": " + plan.get(shard).size() + " tests, ~"
+                    + ShardPlanner.estimate(plan.get(shard), testIds, history) / 1000 + " s expected");
+            workers.add(startWorker(shard, shardCount, shardDir));
+        }
+
+        boolean passed = true;
+        for (int shard = 0; shard < shardCount; shard++) {
+            int exitCode = workers.get(shard).waitFor();
+            log.info("Shard " + shard + " finished with exit code " + exitCode
+                    + ", output in " + reportDir.resolve("shard-" + shard).resolve("output.log"));
+            passed &= exitCode == 0;
+        }
+
+        mergeResults(reportDir, shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            TimingHistory.merge(TimingHistory.getFile(), TimingHistory.load(reportDir.resolve("shard-" + shard).resolve("timings.json")));
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    // Same discovery as the shard workers, so the plan covers exactly the tests they will see
+    private static Set<String> discoverTests() {
+        TestPlan testPlan = LauncherFactory.create().discover(ShardWorker.suiteRequest());
+        Set<String> testIds = new TreeSet<>();
+        collect(testPlan, testPlan.getRoots(), testIds);
+        return testIds;
+    }
+
+    private static void collect(TestPlan testPlan, Set<TestIdentifier> identifiers, Set<String> testIds) {
+        for (TestIdentifier identifier : identifiers) {
+            TestSource source = identifier.getSource().orElse(null);
+            if (identifier.isTest() && source instanceof MethodSource && isEnabled((MethodSource) source)) {
+                MethodSource method = (MethodSource) source;
+                testIds.add(method.getClassName() + "#" + method.getMethodName());
+            }
+            collect(testPlan, testPlan.getChildren(identifier), testIds);
+        }
+    }
+
+    // Discovery does not evaluate conditions, a test switched off by one would still get a share of the time budget.
+    // @Disabled and @EnabledIf/@DisabledIf on static no-argument methods are checked here; anything else is left to
+    // the worker.
+    private static boolean isEnabled(MethodSource source) {
+        Method test;
+        try {
+            test = source.getJavaMethod();
+        } catch (RuntimeException e) {
+            return true;
+        }
+        Class<?> testClass = test.getDeclaringClass();
+        if (test.isAnnotationPresent(Disabled.class) || testClass.isAnnotationPresent(Disabled.class)) {
+            return false;
+        }
+        EnabledIf enabledIf = test.getAnnotation(EnabledIf.class);
+        DisabledIf disabledIf = test.getAnnotation(DisabledIf.class);
+        Boolean enabled = enabledIf == null ? null : evaluate(testClass, enabledIf.value());
+        Boolean disabled = disabledIf == null ? null : evaluate(testClass, disabledIf.value());
+        return !Boolean.FALSE.equals(enabled) && !Boolean.TRUE.equals(disabled);
+    }
+
+    // Null when the condition cannot be evaluated without the test engine
+    private static Boolean evaluate(Class<?> testClass, String methodName) {
+        if (methodName.contains("#")) {
+            return null; // Condition in another class
+        }
+        try {
+            Method condition = testClass.getDeclaredMethod(methodName);
+            if (!Modifier.isStatic(condition.getModifiers())) {
+                return null;
+            }
+            condition.setAccessible(true);
+            return (Boolean) condition.invoke(null);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private static Process startWorker(int shard, int shardCount, Path shardDir) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(classpath());
+        // Settings given to the launcher (-Dkey=value) apply to every shard
+        for (String key : ConfigReader.getPropertyNames()) {
+            if (System.getProperty(key) != null) {
+                command.add("-D" + key + "=" + System.getProperty(key));
+            }
+        }
+        command.add("-Dshard.count=" + shardCount);
+        command.add("-Dshard.index=" + shard);
+        command.add("-Dshard.plan=" + shardDir.resolve("plan.txt"));
+        command.add("-Dreport.dir=" + shardDir);
+        command.add("-Dreport.html.enabled=false"); // Only the merged report is rendered
+        command.add("-Dreport.jsonl.enabled=true");
+        command.add("-Dtiming.history.output=" + shardDir.resolve("timings.json"));
+        if (System.getProperty("parallel.threads") == null) {
+            command.add("-Dparallel.threads=1"); // One browser per shard unless asked otherwise
+        }
+        command.add(ShardWorker.class.getName());
+
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(shardDir.resolve("output.log").toFile())
+                .start();
+    }
+
+    // Under exec:java the project classpath is only known to the context class loader
+    private static String classpath() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader instanceof URLClassLoader) {
+            List<String> entries = new ArrayList<>();
+            for (URL url : ((URLClassLoader) loader).getURLs()) {
+                try {
+                    entries.add(Paths.get(url.toURI()).toString());
+                } catch (Exception e) {
+                    entries.add(url.getPath());
+                }
+            }
+            if (!entries.isEmpty()) {
+                return String.join(File.pathSeparator, entries);
+            }
+        }
+        return System.getProperty("java.class.path");
+    }
+
+    // Shard events are renumbered so test ids stay unique, ordered by time, and the run-level events kept once
+    private static void mergeResults(Path reportDir, int shardCount) throws IOException {
+        Json json = new Json();
+        List<Map<String, Object>> events = new ArrayList<>();
+        Set<String> systemInfo = new HashSet<>();
+        boolean runStarted = false;
+
+        for (int shard = 0; shard < shardCount; shard++) {
+            Path shardDir = reportDir.resolve("shard-" + shard);
+            Path results = shardDir.resolve("results.jsonl");
+            if (!Files.exists(results)) {
+                continue;
+            }
+            for (String line : Files.readAllLines(results, StandardCharsets.UTF_8)) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                Map<String, Object> event = json.toType(line, Json.MAP_TYPE);
+                String type = (String) event.get("type");
+                if (type.equals("run-start") && runStarted
+                        || type.equals("system-info") && !systemInfo.add((String) event.get("name"))) {
+                    continue;
+                }
+                runStarted |= type.equals("run-start");
+                if (event.containsKey("test")) {
+                    event.put("test", shard * 1_000_000_000L + ((Number) event.get("test")).longValue());
+                }
+                events.add(event);
+            }
+            copyAttachments(shardDir.resolve("attachments"), reportDir.resolve("attachments"));
+        }
+        // Stable sort: events with the same timestamp keep their order within the shard
+        events.sort((a, b) -> Long.compare(((Number) a.get("time")).longValue(), ((Number) b.get("time")).longValue()));
+
+        Path merged = reportDir.resolve("results.jsonl");
+        try (BufferedWriter out = Files.newBufferedWriter(merged, StandardCharsets.UTF_8)) {
+            for (Map<String, Object> event : events) {
+                StringBuilder line = new StringBuilder();
+                json.newOutput(line).setPrettyPrint(false).write(event);
+                out.write(line.toString());
+                out.newLine();
+            }
+        }
+        int tests = JsonLinesReportConverter.convert(merged, reportDir.resolve("ExtentReport.html"));
+        log.info("Merged " + tests + " report entries from " + shardCount + " shards into " + reportDir);
+    }
+
+    // Attachments are content-addressed, a file with the same name is the same content
+    private static void copyAttachments(Path from, Path to) throws IOException {
+        if (!Files.isDirectory(from)) {
+            return;
+        }
+        Files.createDirectories(to);
+        try (Stream<Path> files = Files.list(from)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Path target = to.resolve(file.getFileName());
+                if (!Files.exists(target)) {
+                    Files.copy(file, target);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.insider.tests;
+
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.io.PrintWriter;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+// Entry point of one shard JVM started by ShardLauncher: runs the suite (ShardingExtension keeps this shard's
+// tests) and exits with 1 when anything failed
+public class ShardWorker {
+
+    public static void main(String[] args) {
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        Launcher launcher = LauncherFactory.create();
+        launcher.execute(suiteRequest(), listener);
+
+        TestExecutionSummary summary = listener.getSummary();
+        summary.printTo(new PrintWriter(System.out));
+        summary.printFailuresTo(new PrintWriter(System.out), 20);
+        System.exit(summary.getTotalFailureCount() == 0 ? 0 : 1);
+    }
+
+    static LauncherDiscoveryRequest suiteRequest() {
+        return request().selectors(selectPackage(ShardWorker.class.getPackage().getName())).build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.insider.tests;
+
+import com.insider.utils.ConfigReader;
+import com.insider.utils.ShardPlanner;
+import com.insider.utils.TimingHistory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Runs only this JVM's share of the tests and records how long each test took (setUp and tearDown included).
+//
+// shard.count / shard.index (0-based) select the shard. ShardLauncher passes the exact test list in shard.plan;
+// without it (e.g. shards started by a CI matrix) each class is split with ShardPlanner from the timing history,
+// which every shard reads identically. Durations go to timing.history.output (the history file by default).
+public class ShardingExtension implements ExecutionCondition, BeforeEachCallback, AfterEachCallback, AfterAllCallback {
+    private static final Map<String, Long> durations = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Set<String>> shardTests = new ConcurrentHashMap<>();
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ShardingExtension.class);
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        int shardCount = ConfigReader.getIntProperty("shard.count", 1);
+        if (shardCount <= 1 || !context.getTestClass().isPresent()) {
+            return ConditionEvaluationResult.enabled("Sharding is off");
+        }
+        int shardIndex = ConfigReader.getIntProperty("shard.index", 0);
+        Set<String> tests = shardTests.computeIfAbsent(context.getRequiredTestClass(),
+                testClass -> planFor(testClass, shardCount, shardIndex));
+
+        if (!context.getTestMethod().isPresent()) {
+            String prefix = context.getRequiredTestClass().getName() + "#";
+            boolean any = tests.stream().anyMatch(test -> test.startsWith(prefix));
+            return any ? ConditionEvaluationResult.enabled("Shard " + shardIndex + " has tests in this class")
+                    : ConditionEvaluationResult.disabled("No tests of this class in shard " + shardIndex);
+        }
+        String testId = testId(context);
+        return tests.contains(testId) ? ConditionEvaluationResult.enabled("Assigned to shard " + shardIndex)
+                : ConditionEvaluationResult.disabled("Assigned to another shard than " + shardIndex);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put("start", System.nanoTime());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        long start = context.getStore(NAMESPACE).remove("start", long.class);
+        durations.put(testId(context), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        String output = ConfigReader.getProperty("timing.history.output", null);
+        Map<String, Long> finished = new HashMap<>(durations);
+        durations.keySet().removeAll(finished.keySet());
+        TimingHistory.merge(output == null ? TimingHistory.getFile() : Paths.get(output), finished);
+    }
+
+    static String testId(ExtensionContext context) {
+        return context.getRequiredTestClass().getName() + "#" + context.getRequiredTestMethod().getName();
+    }
+
+    private static Set<String> planFor(Class<?> testClass, int shardCount, int shardIndex) {
+        String planFile = ConfigReader.getProperty("shard.plan", null);
+        if (planFile != null) {
+            try {
+                return new HashSet<>(Files.readAllLines(Paths.get(planFile), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read shard plan: " + planFile, e);
+            }
+        }
+        List<String> testIds = new ArrayList<>();
+        for (Method method : AnnotationSupport.findAnnotatedMethods(testClass, Test.class, HierarchyTraversalMode.TOP_DOWN)) {
+            testIds.add(testClass.getName() + "#" + method.getName());
+        }
+        List<List<String>> plan = ShardPlanner.plan(testIds, TimingHistory.load(TimingHistory.getFile()), shardCount);
+        return new HashSet<>(plan.get(shardIndex));
+    }
+}